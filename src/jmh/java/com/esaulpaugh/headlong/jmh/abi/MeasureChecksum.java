@@ -0,0 +1,108 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.Address;
+import com.esaulpaugh.headlong.util.FastHex;
+import com.joemelsha.crypto.hash.Keccak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.jmh.Main.THREE;
+
+@State(Scope.Thread)
+public class MeasureChecksum {
+
+    private static final int N = 1024;
+
+    final String[] addresses = new String[N];
+
+    @Setup
+    public void setUp() {
+        final Random r = new Random(System.nanoTime());
+        for (int i = 0; i < N; i++) {
+            addresses[i] = Address.toChecksumAddress(new BigInteger(160, r));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(N)
+    public void to_checksum_and_compare(Blackhole b) {
+        for (String a : addresses) {
+            b.consume(toChecksumAddress(a).equals(a));
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(N)
+    public void validate_all() {
+        Address.validateAll(addresses);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(N)
+    public void wrap_all(Blackhole b) {
+        b.consume(Address.wrapAll(addresses));
+    }
+
+    /* the per-call path which validateAll replaces */
+    @SuppressWarnings("deprecation")
+    private static String toChecksumAddress(final String address) {
+        final byte[] addressBytes = address.toLowerCase().getBytes(StandardCharsets.US_ASCII);
+        final Keccak keccak256 = new Keccak(256);
+        keccak256.update(addressBytes, 2, 40);
+        final byte[] buffer = new byte[1 + 20];
+        keccak256.digest(ByteBuffer.wrap(buffer, 1, 20));
+        final byte[] hash = FastHex.encodeToBytes(buffer);
+        for (int i = 2; i < addressBytes.length; i++) {
+            switch (hash[i]) {
+            case'8':case'9':case'a':case'b':case'c':case'd':case'e':case'f': addressBytes[i] = (byte) Character.toUpperCase(addressBytes[i]);
+            }
+        }
+        return new String(addressBytes, 0, 0, addressBytes.length);
+    }
+}
@@ -15,7 +15,9 @@
 */
 package com.esaulpaugh.headlong.jmh.abi;
 
+import com.esaulpaugh.headlong.abi.Address;
 import com.esaulpaugh.headlong.abi.Function;
+import com.esaulpaugh.headlong.abi.FunctionCache;
 import com.esaulpaugh.headlong.abi.Tuple;
 import com.esaulpaugh.headlong.abi.TupleType;
 import com.esaulpaugh.headlong.util.Strings;
@@ -30,6 +32,7 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 import static com.esaulpaugh.headlong.jmh.Main.THREE;
 
@@ -46,6 +49,34 @@ public class MeasureFunction {
             new BigInteger[] { BigInteger.ONE, BigInteger.valueOf(2), BigInteger.valueOf(3) }
     );
 
+    private static final Function WIDE = new Function("wide(uint8,bytes,int64,string,bool,(uint32,bytes)[],uint16[3],address)");
+    private static final Tuple WIDE_ARGS = Tuple.of(
+            7,
+            new byte[40],
+            -9L,
+            "hello",
+            true,
+            new Tuple[] { Tuple.of(1L, new byte[3]), Tuple.of(2L, new byte[33]) },
+            new int[] { 1, 2, 3 },
+            Address.wrap("0x52908400098527886E0F7030069857D2E4169EE7")
+    );
+    private static final byte[] WIDE_CALL = WIDE.encodeCall(WIDE_ARGS).array();
+
+    private static final Function NESTED = new Function("nested(((uint256,bytes)[],string)[])");
+    private static final Tuple NESTED_ARGS = Tuple.singleton(nestedArg(8, 8));
+
+    private static Tuple[] nestedArg(int outerLen, int innerLen) {
+        final Tuple[] outer = new Tuple[outerLen];
+        for (int i = 0; i < outer.length; i++) {
+            final Tuple[] inner = new Tuple[innerLen];
+            for (int j = 0; j < inner.length; j++) {
+                inner[j] = Tuple.of(BigInteger.valueOf(i * 31L + j), new byte[j * 5]);
+            }
+            outer[i] = Tuple.of(inner, "element " + i);
+        }
+        return outer;
+    }
+
 //    static {
 //        System.out.println(Strings.encode(F.getOutputs().encode(ARGS)));
 //    }
@@ -63,14 +94,41 @@ public class MeasureFunction {
         blackhole.consume(F.encodeCall(ARGS));
     }
 
-//    @Benchmark
-//    @Fork(value = 1, warmups = 1)
-//    @BenchmarkMode(Mode.AverageTime)
-//    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
-//    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
-//    public void decode_call(Blackhole blackhole) {
-//        blackhole.consume(F.decodeCall(CALL));
-//    }
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
+    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
+    public void decode_call(Blackhole blackhole) {
+        blackhole.consume(F.decodeCall(CALL));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
+    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
+    public void encode_call_wide(Blackhole blackhole) {
+        blackhole.consume(WIDE.encodeCall(WIDE_ARGS));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
+    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
+    public void encode_call_nested(Blackhole blackhole) {
+        blackhole.consume(NESTED.encodeCall(NESTED_ARGS));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
+    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
+    public void decode_call_wide(Blackhole blackhole) {
+        blackhole.consume(WIDE.decodeCall(WIDE_CALL));
+    }
 
     @Benchmark
     @Fork(value = 1, warmups = 1)
@@ -90,6 +148,15 @@ public class MeasureFunction {
         blackhole.consume(F.decodeReturn(RETURN, 2));
     }
 
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
+    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
+    public void decode_index_lazy(Blackhole blackhole) {
+        blackhole.consume(F.decodeReturnLazy(ByteBuffer.wrap(RETURN)).get(2));
+    }
+
     @Benchmark
     @Fork(value = 1, warmups = 1)
     @BenchmarkMode(Mode.AverageTime)
@@ -99,6 +166,17 @@ public class MeasureFunction {
         blackhole.consume(Function.parse("sam(bytes,bool,uint256[])"));
     }
 
+    private final FunctionCache cache = new FunctionCache(256);
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(batchSize = BATCH_SIZE, iterations = 1)
+    @Measurement(batchSize = BATCH_SIZE, iterations = THREE)
+    public void init_cached(Blackhole blackhole) {
+        blackhole.consume(cache.parse("sam(bytes,bool,uint256[])"));
+    }
+
 //    @Benchmark
 //    @Fork(value = 1, warmups = 1)
 //    @BenchmarkMode(Mode.AverageTime)
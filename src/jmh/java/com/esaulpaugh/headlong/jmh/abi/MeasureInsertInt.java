@@ -0,0 +1,114 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.BigIntegerType;
+import com.esaulpaugh.headlong.abi.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.jmh.Main.THREE;
+
+/** Compares encoding a uint256 via {@link BigInteger#toByteArray()} with the current paths, which avoid it where they can. */
+@State(Scope.Thread)
+public class MeasureInsertInt {
+
+    private static final int UNIT_LENGTH_BYTES = 32;
+
+    private static final BigIntegerType UINT256 = TypeFactory.create("uint256");
+
+    /* e.g. 60 bits ~ 1 ether in wei; 80 bits ~ 1M tokens with 18 decimals */
+    @Param({ "60", "80", "255" })
+    int bitLength;
+
+    final Random r = new Random(System.nanoTime());
+
+    final ByteBuffer bb = ByteBuffer.allocate(UNIT_LENGTH_BYTES);
+
+    BigInteger value;
+    final long[] limbs = new long[4];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        value = new BigInteger(bitLength, r).setBit(bitLength - 1);
+        UINT256.decodeLimbs(UINT256.encode(value), limbs);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public ByteBuffer to_byte_array() {
+        bb.rewind();
+        insertIntToByteArray(value, UNIT_LENGTH_BYTES, bb);
+        return bb;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public ByteBuffer encode() {
+        bb.rewind();
+        UINT256.encode(value, bb);
+        return bb;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public ByteBuffer encode_limbs() {
+        bb.rewind();
+        UINT256.encodeLimbs(limbs, bb);
+        return bb;
+    }
+
+    private static final byte[] CACHED_ZERO_PADDING = new byte[UNIT_LENGTH_BYTES];
+    private static final byte[] CACHED_NEG1_PADDING = new byte[UNIT_LENGTH_BYTES];
+
+    static {
+        Arrays.fill(CACHED_NEG1_PADDING, (byte) -1);
+    }
+
+    /* the previous implementation of Encoding.insertInt(BigInteger, int, ByteBuffer) */
+    static void insertIntToByteArray(BigInteger signed, int paddedLen, ByteBuffer dest) {
+        byte[] arr = signed.toByteArray();
+        if(arr.length <= paddedLen) {
+            dest.put(signed.signum() < 0 ? CACHED_NEG1_PADDING : CACHED_ZERO_PADDING, 0, paddedLen - arr.length);
+            dest.put(arr, 0 ,arr.length);
+        } else {
+            dest.put(arr, 1, paddedLen);
+        }
+    }
+}
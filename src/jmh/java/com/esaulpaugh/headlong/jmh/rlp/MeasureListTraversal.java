@@ -0,0 +1,108 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPCursor;
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.RLPItem;
+import com.esaulpaugh.headlong.rlp.RLPList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.jmh.Main.THREE;
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+@State(Scope.Thread)
+public class MeasureListTraversal {
+
+    private static final int TRANSACTIONS = 2000;
+
+    byte[] block;
+    RLPCursor cursor;
+
+    @Setup
+    public void setUp() {
+        final Random r = new Random(System.nanoTime());
+        final Object[] txs = new Object[TRANSACTIONS];
+        for (int i = 0; i < txs.length; i++) {
+            txs[i] = new Object[] { // nonce, gasPrice, gas, to, value, data, v, r, s
+                    bytes(r, 2), bytes(r, 5), bytes(r, 3), bytes(r, 20), bytes(r, 8), bytes(r, 68), bytes(r, 1), bytes(r, 32), bytes(r, 32)
+            };
+        }
+        block = RLPEncoder.encodeAsList(txs);
+        cursor = RLP_STRICT.cursor(block);
+    }
+
+    private static byte[] bytes(Random r, int len) {
+        final byte[] b = new byte[len];
+        r.nextBytes(b);
+        b[0] |= 0x81; // no leading zero, not a single byte
+        return b;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(TRANSACTIONS)
+    public long iterator() {
+        long sum = 0;
+        final RLPList list = RLP_STRICT.wrapList(block);
+        for (RLPItem tx : list) {
+            for (RLPItem field : tx.asRLPList()) {
+                sum += field.dataLength <= Long.BYTES ? field.asLong() : field.dataLength;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(TRANSACTIONS)
+    public long cursor() {
+        long sum = 0;
+        final RLPCursor c = cursor.reset(block, 0);
+        c.next();
+        c.enterList();
+        while (c.next()) {
+            c.enterList();
+            while (c.next()) {
+                final int len = c.dataLength();
+                sum += len <= Long.BYTES ? c.asLong() : len;
+            }
+            c.exitList();
+        }
+        return sum;
+    }
+}
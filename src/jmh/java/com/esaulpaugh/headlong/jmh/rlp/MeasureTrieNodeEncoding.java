@@ -0,0 +1,146 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.RLPTwoPassEncoder;
+import com.esaulpaugh.headlong.rlp.RLPWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.jmh.Main.THREE;
+
+@State(Scope.Thread)
+public class MeasureTrieNodeEncoding {
+
+    /* branch: 17 hashes; tree: branches of inlined nodes four deep; chain: extension nodes nested 32 deep */
+    @Param({ "branch", "tree", "chain" })
+    String shape;
+
+    List<Object> node;
+    final RLPTwoPassEncoder encoder = new RLPTwoPassEncoder();
+    final RLPWriter writer = new RLPWriter();
+    ByteBuffer dest;
+
+    @Setup
+    public void setUp() {
+        final Random r = new Random(System.nanoTime());
+        switch (shape) {
+        case "branch": node = branch(r, 0); break;
+        case "tree": node = branch(r, 4); break;
+        case "chain": node = chain(r, 32); break;
+        default: throw new IllegalArgumentException(shape);
+        }
+        dest = ByteBuffer.allocate(RLPEncoder.encodeAsList(node).length);
+    }
+
+    private static List<Object> branch(Random r, int depth) {
+        final List<Object> children = new ArrayList<>(17);
+        for (int i = 0; i < 16; i++) {
+            children.add(depth == 0 ? bytes(r, 32) : i % 4 == 0 ? branch(r, depth - 1) : leaf(r));
+        }
+        children.add(new byte[0]); // value
+        return children;
+    }
+
+    private static List<Object> leaf(Random r) {
+        return Arrays.asList(bytes(r, 3), bytes(r, 8));
+    }
+
+    private static List<Object> chain(Random r, int depth) {
+        return Arrays.asList(bytes(r, 2), depth == 0 ? leaf(r) : chain(r, depth - 1));
+    }
+
+    private static byte[] bytes(Random r, int len) {
+        final byte[] b = new byte[len];
+        r.nextBytes(b);
+        return b;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public byte[] encodeAsList() {
+        return RLPEncoder.encodeAsList(node);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public byte[] twoPass() {
+        return encoder.encodeAsList(node);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public ByteBuffer twoPassToBuffer() {
+        dest.clear();
+        encoder.encodeAsList(node, dest);
+        return dest;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    public byte[] reverseWriter() {
+        writer.reset();
+        addList(writer, node);
+        return writer.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addList(RLPWriter writer, List<Object> elements) {
+        writer.beginList();
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            final Object e = elements.get(i);
+            if(e instanceof byte[]) {
+                writer.addString((byte[]) e);
+            } else {
+                addList(writer, (List<Object>) e);
+            }
+        }
+        writer.endList();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.util;
+
+import com.joemelsha.crypto.hash.Keccak;
+import com.joemelsha.crypto.hash.Keccak256;
+import com.joemelsha.crypto.hash.Keccak256Batch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.jmh.Main.THREE;
+
+@State(Scope.Thread)
+public class MeasureKeccak {
+
+    private static final int N = 1024;
+
+    @Param({ "40", "64" })
+    int len;
+
+    @Param({ "16", "64", "256" })
+    int width;
+
+    byte[] in;
+    final byte[] out = new byte[N * Keccak256Batch.DIGEST_LEN];
+
+    final Keccak keccak = new Keccak(256);
+    Keccak256Batch batch;
+
+    @Setup
+    public void setUp() {
+        in = new byte[N * len];
+        new Random(System.nanoTime()).nextBytes(in);
+        batch = new Keccak256Batch(width);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(N)
+    public void scalar() {
+        final ByteBuffer dest = ByteBuffer.wrap(out);
+        for (int i = 0; i < N; i++) {
+            keccak.update(in, i * len, len);
+            keccak.digest(dest);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(N)
+    public void one_shot() {
+        for (int i = 0; i < N; i++) {
+            Keccak256.hash(in, i * len, len, out, i * Keccak256.DIGEST_LEN);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = THREE)
+    @OperationsPerInvocation(N)
+    public void batch() {
+        batch.hash(in, 0, len, N, out, 0);
+    }
+}
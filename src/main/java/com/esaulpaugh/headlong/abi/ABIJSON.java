@@ -219,7 +219,7 @@ public final class ABIJSON {
         if(type.startsWith(TUPLE)) {
             TupleType baseType = parseTupleType(object, COMPONENTS);
             return TypeFactory.build(baseType.canonicalType + type.substring(TUPLE.length()), baseType)
-                    .setName(name);
+                    .withName(name);
         }
         return TypeFactory.create(type, name);
     }
@@ -0,0 +1,151 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Integers;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_ADDRESS;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_ARRAY;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BIG_DECIMAL;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BIG_INTEGER;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BOOLEAN;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BYTE;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_INT;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_LONG;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_TUPLE;
+import static com.esaulpaugh.headlong.abi.ArrayType.DYNAMIC_LENGTH;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * Walks ABI-encoded data according to a {@link TupleType} and reports each value to an {@link ABIVisitor} instead of
+ * building a {@link Tuple}. Reads directly from the source buffer and allocates nothing per element. Offsets are
+ * handled as in {@link TupleType#decode(ByteBuffer)}, including the lenient forward jump.
+ */
+public final class ABIReader {
+
+    private final TupleType tupleType;
+
+    public ABIReader(TupleType tupleType) {
+        this.tupleType = tupleType;
+    }
+
+    public TupleType getTupleType() {
+        return tupleType;
+    }
+
+    /**
+     * Reads the encoding at the buffer's current position and advances the position past it.
+     *
+     * @param buffer    the encoded data
+     * @param visitor   the receiver of the decoded values
+     * @throws IllegalArgumentException if the data is malformed
+     * @throws BufferUnderflowException if the data is truncated
+     */
+    public void read(ByteBuffer buffer, ABIVisitor visitor) {
+        buffer.position(readValue(tupleType, buffer, buffer.position(), visitor));
+    }
+
+    public void read(byte[] array, ABIVisitor visitor) {
+        ByteBuffer bb = ByteBuffer.wrap(array);
+        read(bb, visitor);
+        final int remaining = bb.remaining();
+        if(remaining != 0) {
+            throw new IllegalArgumentException("unconsumed bytes: " + remaining + " remaining");
+        }
+    }
+
+    /* returns the index of the end of the value's encoding (or the end of its head, for static types) */
+    private static int readValue(ABIType<?> type, ByteBuffer bb, int idx, ABIVisitor visitor) {
+        switch (type.typeCode()) {
+        case TYPE_CODE_BOOLEAN: visitor.onBoolean(((UnitType<?>) type).decodeWord(bb, idx) != 0L); break;
+        case TYPE_CODE_BYTE:
+        case TYPE_CODE_INT:
+        case TYPE_CODE_LONG: visitor.onLong((UnitType<?>) type, ((UnitType<?>) type).decodeWord(bb, idx)); break;
+        case TYPE_CODE_BIG_INTEGER:
+        case TYPE_CODE_BIG_DECIMAL:
+        case TYPE_CODE_ADDRESS:
+            ((UnitType<?>) type).decodeWord(bb, idx);
+            visitor.onWord((UnitType<?>) type, bb, idx);
+            break;
+        case TYPE_CODE_ARRAY: return readArray((ArrayType<?, ?>) type, bb, idx, visitor);
+        case TYPE_CODE_TUPLE: {
+            final TupleType tt = (TupleType) type;
+            visitor.onTupleStart(tt);
+            final int end = readElements(bb, idx, tt, null, tt.size(), visitor);
+            visitor.onTupleEnd(tt);
+            return end;
+        }
+        default: throw new AssertionError();
+        }
+        return idx + UNIT_LENGTH_BYTES;
+    }
+
+    private static int readArray(ArrayType<?, ?> arrayType, ByteBuffer bb, int idx, ABIVisitor visitor) {
+        final int len;
+        if(arrayType.getLength() == DYNAMIC_LENGTH) {
+            len = (int) Encoding.UINT17.decodeWord(bb, idx);
+            idx += UNIT_LENGTH_BYTES;
+        } else {
+            len = arrayType.getLength();
+        }
+        final ABIType<?> elementType = arrayType.getElementType();
+        if(elementType.typeCode() == TYPE_CODE_BYTE) {
+            final int end = idx + Integers.roundLengthUp(len, UNIT_LENGTH_BYTES);
+            if(end > bb.limit()) {
+                throw new BufferUnderflowException();
+            }
+            for (int i = idx + len; i < end; i++) {
+                if(bb.get(i) != Encoding.ZERO_BYTE) throw new IllegalArgumentException("malformed array: non-zero padding byte");
+            }
+            visitor.onBytes(arrayType, bb, idx, len);
+            return end;
+        }
+        visitor.onArrayStart(arrayType, len);
+        final int end = readElements(bb, idx, null, elementType, len, visitor);
+        visitor.onArrayEnd(arrayType);
+        return end;
+    }
+
+    /**
+     * Reads the elements of a tuple or array in order. Static elements are read from the head; dynamic elements are
+     * read from the tail, which must not precede the end of the previous element.
+     *
+     * @param tupleType   the tuple type, or {@code null} when reading array elements
+     * @param elementType the array element type, ignored when {@code tupleType} is non-null
+     */
+    private static int readElements(ByteBuffer bb, final int start, TupleType tupleType, ABIType<?> elementType, int len, ABIVisitor visitor) {
+        int headIdx = start;
+        int tailIdx = start + (tupleType != null ? tupleType.firstOffset : len * elementType.headLength());
+        for (int i = 0; i < len; i++) {
+            final ABIType<?> t = tupleType != null ? tupleType.elementTypes[i] : elementType;
+            if(!t.dynamic) {
+                headIdx = readValue(t, bb, headIdx, visitor);
+            } else {
+                final int offset = (int) Encoding.UINT31.decodeWord(bb, headIdx);
+                headIdx += UNIT_LENGTH_BYTES;
+                final int jump = start + offset;
+                if(jump < tailIdx) {
+                    throw new IllegalArgumentException("illegal backwards jump: (" + start + "+" + offset + "=" + jump + ")<" + tailIdx);
+                }
+                tailIdx = readValue(t, bb, jump, visitor); // leniently jump to specified offset
+            }
+        }
+        return tailIdx;
+    }
+}
@@ -19,6 +19,7 @@ import com.esaulpaugh.headlong.util.Integers;
 import com.esaulpaugh.headlong.util.Strings;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntFunction;
 
 import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
@@ -47,12 +48,20 @@ public abstract class ABIType<J> {
     final Class<J> clazz;
     final boolean dynamic;
 
-    private String name;
+    private final String name;
 
     ABIType(String canonicalType, Class<J> clazz, boolean dynamic) {
-        this.canonicalType = canonicalType; // .intern() to save memory and allow == comparison?
+        this.canonicalType = canonicalType;
         this.clazz = clazz;
         this.dynamic = dynamic;
+        this.name = null;
+    }
+
+    ABIType(ABIType<J> other, String name) {
+        this.canonicalType = other.canonicalType;
+        this.clazz = other.clazz;
+        this.dynamic = other.dynamic;
+        this.name = name;
     }
 
     public final String getCanonicalType() {
@@ -71,12 +80,18 @@ public abstract class ABIType<J> {
         return name;
     }
 
-    /* don't expose this; cached (nameless) instances are shared and must be immutable */
-    final ABIType<J> setName(String name) {
-        this.name = name;
-        return this;
+    /**
+     * Returns this instance if {@code name} is null, otherwise a shallow copy bearing the given name. Nameless instances
+     * are shared (see {@link TypeFactory}) and so must never be modified; the copy shares all of their state except the
+     * name.
+     */
+    final ABIType<J> withName(String name) {
+        return name == null ? this : copy(name);
     }
 
+    /* returns a copy of this instance, sharing its state, bearing the given name */
+    abstract ABIType<J> copy(String name);
+
     abstract Class<?> arrayClass();
 
     /**
@@ -116,6 +131,18 @@ public abstract class ABIType<J> {
         return validate(validateClass(value));
     }
 
+    /**
+     * Validates {@code value} and records in {@code lengths} the byte length of each of its dynamic elements, in the
+     * order in which {@link #encodeTail(Object, ByteBuffer, ByteLengths)} consumes them.
+     *
+     * @param value   the value to validate
+     * @param lengths the scratch space for the byte lengths
+     * @return the byte length of the ABI encoding of {@code value}
+     */
+    int validate(Object value, ByteLengths lengths) {
+        return _validate(value);
+    }
+
     @SuppressWarnings("unchecked")
     final J validateClass(Object value) {
         if(!clazz.isInstance(value)) {
@@ -141,15 +168,17 @@ public abstract class ABIType<J> {
     }
 
     public final ByteBuffer encode(J value) {
-        ByteBuffer dest = ByteBuffer.allocate(validate(value));
-        encodeTail(value, dest);
+        final ByteLengths lengths = new ByteLengths();
+        ByteBuffer dest = ByteBuffer.allocate(validate(value, lengths));
+        encodeTail(value, dest, lengths);
         dest.flip();
         return dest;
     }
 
     public final void encode(J value, ByteBuffer dest) {
-        validate(value);
-        encodeTail(value, dest);
+        final ByteLengths lengths = new ByteLengths();
+        validate(value, lengths);
+        encodeTail(value, dest, lengths);
     }
 
     final int encodeHead(Object value, ByteBuffer dest, int offset) {
@@ -163,6 +192,14 @@ public abstract class ABIType<J> {
 
     abstract void encodeTail(Object value, ByteBuffer dest);
 
+    /**
+     * Like {@link #encodeTail(Object, ByteBuffer)} but takes the byte lengths of dynamic elements from {@code lengths}
+     * instead of measuring them. Requires that {@code value} was validated with {@link #validate(Object, ByteLengths)}.
+     */
+    void encodeTail(Object value, ByteBuffer dest, ByteLengths lengths) {
+        encodeTail(value, dest);
+    }
+
     /**
      * Returns the non-standard-packed encoding of {@code values}.
      *
@@ -218,6 +255,26 @@ public abstract class ABIType<J> {
      */
     abstract J decode(ByteBuffer buffer, byte[] unitBuffer);
 
+    /**
+     * Like {@link #decode(ByteBuffer)}, except that every dynamic array of at least {@code threshold} dynamic elements
+     * (e.g. {@code tuple[]}, {@code bytes[]}, {@code string[]}) has its elements decoded concurrently in the given pool.
+     * The result, and any exception thrown, is the same as that of the sequential decode.
+     *
+     * @param buffer    the buffer containing the encoded data
+     * @param pool      the pool in which to decode array elements
+     * @param threshold the minimum number of elements for which an array is decoded in parallel
+     * @return the decoded value
+     * @throws IllegalArgumentException if the data is malformed or {@code threshold} is not positive
+     */
+    public final J decodeParallel(ByteBuffer buffer, ForkJoinPool pool, int threshold) {
+        return decode(buffer, newUnitBuffer(), new ForkJoinDecoder(pool, threshold));
+    }
+
+    /* only tuples and arrays can contain arrays of dynamic elements, so only they need the ForkJoinDecoder */
+    J decode(ByteBuffer buffer, byte[] unitBuffer, ForkJoinDecoder forkJoin) {
+        return decode(buffer, unitBuffer);
+    }
+
     @SuppressWarnings("unchecked")
     public final J decodePacked(byte[] buffer) {
         return (J) PackedDecoder.decode(TupleType.wrap(this), buffer).get(0);
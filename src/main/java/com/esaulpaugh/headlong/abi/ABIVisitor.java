@@ -0,0 +1,70 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the values read by an {@link ABIReader} in the order in which they appear in the {@link TupleType}. Every
+ * value has been validated before it is passed to the visitor. Buffer arguments are the reader's source buffer and
+ * must not be retained or modified; indices into them are absolute.
+ */
+public interface ABIVisitor {
+
+    default void onTupleStart(TupleType type) {}
+
+    default void onTupleEnd(TupleType type) {}
+
+    /**
+     * Called before the elements of any array whose elements are not bytes.
+     *
+     * @param type      the array type
+     * @param length    the number of elements which follow
+     */
+    default void onArrayStart(ArrayType<?, ?> type, int length) {}
+
+    default void onArrayEnd(ArrayType<?, ?> type) {}
+
+    default void onBoolean(boolean value) {}
+
+    /**
+     * Called for types whose Java representation is {@link Integer} or {@link Long}, e.g. int32 or uint56.
+     *
+     * @param type  the type
+     * @param value the value
+     */
+    default void onLong(UnitType<?> type, long value) {}
+
+    /**
+     * Called for types too wide for a {@code long}, i.e. {@link BigIntegerType}, {@link BigDecimalType} and
+     * {@link AddressType}.
+     *
+     * @param type      the type
+     * @param buffer    the source buffer
+     * @param index     the index of the 32-byte, big-endian, two's complement word
+     */
+    default void onWord(UnitType<?> type, ByteBuffer buffer, int index) {}
+
+    /**
+     * Called for byte array types such as bytes, bytes32, function and string.
+     *
+     * @param type      the type
+     * @param buffer    the source buffer
+     * @param index     the index of the first byte (the padding has already been validated)
+     * @param length    the number of bytes
+     */
+    default void onBytes(ArrayType<?, ?> type, ByteBuffer buffer, int index, int length) {}
+}
@@ -16,7 +16,7 @@
 package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.util.FastHex;
-import com.joemelsha.crypto.hash.Keccak;
+import com.joemelsha.crypto.hash.Keccak256;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 /**
  * Provides type safety by disambiguating address arguments from {@link String} and {@link BigInteger} while imposing 
  * certain format requirements such as <a href="https://eips.ethereum.org/EIPS/eip-55">EIP-55: Mixed-case checksum address encoding</a>.
+ * The 160-bit value is held in three primitive fields; the checksum address is computed on first use and cached.
  */
 public final class Address {
 
@@ -34,47 +35,143 @@ public final class Address {
     private static final int ADDRESS_LEN_CHARS = PREFIX_LEN + ADDRESS_HEX_CHARS;
     private static final int HEX_RADIX = 16;
 
-    private final BigInteger value;
+    private static final ThreadLocal<Checksummer> CHECKSUMMER = ThreadLocal.withInitial(Checksummer::new);
+
+    /* the value, big-endian: the high 32 bits, the middle 64 and the low 64 */
+    final int hi;
+    final long mid;
+    final long lo;
+
+    private String checksumAddress; // racy single-check; Strings are safely published
+
+    Address(int hi, long mid, long lo) {
+        this.hi = hi;
+        this.mid = mid;
+        this.lo = lo;
+    }
 
     Address(BigInteger value) {
-        this.value = value;
+        if(value.signum() < 0) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+        if(value.bitLength() > TypeFactory.ADDRESS_BIT_LEN) {
+            throw new IllegalArgumentException("unsigned val exceeds bit limit: " + value.bitLength() + " > " + TypeFactory.ADDRESS_BIT_LEN);
+        }
+        this.hi = value.shiftRight(Long.SIZE * 2).intValue();
+        this.mid = value.shiftRight(Long.SIZE).longValue();
+        this.lo = value.longValue();
+    }
+
+    /**
+     * @param bytes the buffer containing the address
+     * @param off   the index of the address's first (most significant) byte
+     * @return  the address given by the next 20 bytes
+     */
+    static Address fromBytes(byte[] bytes, int off) {
+        return new Address(
+                (int) getLong(bytes, off, Integer.BYTES),
+                getLong(bytes, off + Integer.BYTES, Long.BYTES),
+                getLong(bytes, off + Integer.BYTES + Long.BYTES, Long.BYTES)
+        );
+    }
+
+    static long getLong(byte[] bytes, int off, int len) {
+        long val = 0L;
+        for (final int end = off + len; off < end; off++) {
+            val = val << Byte.SIZE | (bytes[off] & 0xFFL);
+        }
+        return val;
     }
 
     public BigInteger value() {
-        return value;
+        final byte[] bytes = new byte[1 + ADDRESS_DATA_BYTES];
+        ByteBuffer.wrap(bytes, 1, ADDRESS_DATA_BYTES).putInt(hi).putLong(mid).putLong(lo);
+        return new BigInteger(bytes);
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return 31 * (31 * hi + Long.hashCode(mid)) + Long.hashCode(lo);
     }
 
     @Override
     public boolean equals(Object o) {
         if(o instanceof Address) {
             Address other = (Address) o;
-            return value.equals(other.value);
+            return lo == other.lo && mid == other.mid && hi == other.hi;
         }
         return false;
     }
 
     @Override
     public String toString() {
-        return toChecksumAddress(value);
+        String str = checksumAddress;
+        if(str == null) {
+            final byte[] addressBytes = new byte[ADDRESS_LEN_CHARS];
+            addressBytes[0] = '0';
+            addressBytes[1] = 'x';
+            putHex(hi, Integer.BYTES, addressBytes, PREFIX_LEN);
+            putHex(mid, Long.BYTES, addressBytes, PREFIX_LEN + Integer.BYTES * FastHex.CHARS_PER_BYTE);
+            putHex(lo, Long.BYTES, addressBytes, PREFIX_LEN + (Integer.BYTES + Long.BYTES) * FastHex.CHARS_PER_BYTE);
+            checksumAddress = str = doChecksum(addressBytes);
+        }
+        return str;
+    }
+
+    private static void putHex(long val, int numBytes, byte[] dest, int off) {
+        for (int i = off + numBytes * FastHex.CHARS_PER_BYTE - 1; i >= off; i--) {
+            dest[i] = (byte) Character.forDigit((int) val & 0xF, HEX_RADIX);
+            val >>>= FastHex.BITS_PER_CHAR;
+        }
     }
 
     public static Address wrap(final String checksumAddress) {
-        validateChecksumAddress(checksumAddress);
-        byte[] bytes = new byte[1 + ADDRESS_DATA_BYTES];
-        FastHex.decode(checksumAddress, PREFIX_LEN, ADDRESS_HEX_CHARS, bytes, 1);
-        return new Address(new BigInteger(bytes));
+        final Checksummer c = CHECKSUMMER.get();
+        c.validate(checksumAddress);
+        return c.toAddress(checksumAddress);
     }
 
     public static void validateChecksumAddress(final String checksumAddress) {
-        if(toChecksumAddress(checksumAddress).equals(checksumAddress)) {
-            return;
+        CHECKSUMMER.get().validate(checksumAddress);
+    }
+
+    /**
+     * Validates many checksum addresses, e.g. the rows of an import, reusing one Keccak state and one scratch buffer.
+     * Each address is hex-decoded and its casing checked against the hash in place; no checksum string is built.
+     *
+     * @param checksumAddresses the addresses to validate
+     * @throws IllegalArgumentException if any address is invalid; the message gives the index of the first
+     */
+    public static void validateAll(final CharSequence... checksumAddresses) {
+        final Checksummer c = CHECKSUMMER.get();
+        for (int i = 0; i < checksumAddresses.length; i++) {
+            try {
+                c.validate(checksumAddresses[i]);
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("index " + i + ": " + iae.getMessage(), iae);
+            }
         }
-        throw new IllegalArgumentException("invalid checksum");
+    }
+
+    /**
+     * Like {@link #validateAll(CharSequence...)} but also returns the addresses.
+     *
+     * @param checksumAddresses the addresses to validate and wrap
+     * @return  the addresses, in the same order
+     * @throws IllegalArgumentException if any address is invalid; the message gives the index of the first
+     */
+    public static Address[] wrapAll(final CharSequence... checksumAddresses) {
+        final Checksummer c = CHECKSUMMER.get();
+        final Address[] addresses = new Address[checksumAddresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            try {
+                c.validate(checksumAddresses[i]);
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("index " + i + ": " + iae.getMessage(), iae);
+            }
+            addresses[i] = c.toAddress(checksumAddresses[i]);
+        }
+        return addresses;
     }
 
     public static String toChecksumAddress(final BigInteger address) {
@@ -112,21 +209,72 @@ public final class Address {
 
     @SuppressWarnings("deprecation")
     private static String doChecksum(final byte[] addressBytes) {
-        final Keccak keccak256 = new Keccak(256);
-        keccak256.update(addressBytes, PREFIX_LEN, ADDRESS_HEX_CHARS);
-        final int offset = PREFIX_LEN / FastHex.CHARS_PER_BYTE; // offset by one byte so the indices of the hex-encoded hash and the address ascii line up
-        final byte[] buffer = new byte[offset + ADDRESS_DATA_BYTES];
-        keccak256.digest(ByteBuffer.wrap(buffer, offset, ADDRESS_DATA_BYTES));
-        final byte[] hash = FastHex.encodeToBytes(buffer);
+        final Checksummer c = CHECKSUMMER.get();
+        c.hash(addressBytes, PREFIX_LEN);
         for (int i = PREFIX_LEN; i < addressBytes.length; i++) {
-            switch (hash[i]) {
-            case'8':case'9':case'a':case'b':case'c':case'd':case'e':case'f': addressBytes[i] = (byte) Character.toUpperCase(addressBytes[i]);
+            if(c.isUppercase(i - PREFIX_LEN)) {
+                addressBytes[i] = (byte) Character.toUpperCase(addressBytes[i]);
             }
         }
         return new String(addressBytes, 0, 0, addressBytes.length);
     }
 
-    private static int getLowercaseHex(final String address, final int i) {
+    /** Per-thread scratch state for computing and checking EIP-55 checksums without allocating. */
+    private static final class Checksummer {
+
+        private final byte[] lowercase = new byte[ADDRESS_HEX_CHARS];
+        private final byte[] hash = new byte[ADDRESS_DATA_BYTES];
+
+        /* the value parsed by the last call to validate */
+        private int hi;
+        private long mid;
+        private long lo;
+
+        void hash(byte[] lowercaseHex, int offset) {
+            Keccak256.hash(lowercaseHex, offset, ADDRESS_HEX_CHARS, hash, 0, ADDRESS_DATA_BYTES); // one nibble per char
+        }
+
+        /* whether the hex char at index i (after the prefix) must be uppercase if it is a letter */
+        boolean isUppercase(int i) {
+            return (hash[i >>> 1] & ((i & 1) == 0 ? 0x80 : 0x08)) != 0;
+        }
+
+        void validate(final CharSequence address) {
+            if(address.length() != ADDRESS_LEN_CHARS) {
+                throw new IllegalArgumentException("expected address length " + ADDRESS_LEN_CHARS + "; actual is " + address.length());
+            }
+            if(address.charAt(0) != '0' || address.charAt(1) != 'x') {
+                throw new IllegalArgumentException("missing 0x prefix");
+            }
+            long val = 0L;
+            for (int i = PREFIX_LEN; i < ADDRESS_LEN_CHARS; i++) {
+                final int c = getLowercaseHex(address, i);
+                lowercase[i - PREFIX_LEN] = (byte) c;
+                val = val << FastHex.BITS_PER_CHAR | Character.digit(c, HEX_RADIX);
+                switch (i) {
+                case PREFIX_LEN + Integer.BYTES * FastHex.CHARS_PER_BYTE - 1: hi = (int) val; val = 0L; break;
+                case PREFIX_LEN + (Integer.BYTES + Long.BYTES) * FastHex.CHARS_PER_BYTE - 1: mid = val; val = 0L; break;
+                case ADDRESS_LEN_CHARS - 1: lo = val;
+                }
+            }
+            hash(lowercase, 0);
+            for (int i = 0; i < ADDRESS_HEX_CHARS; i++) {
+                if(lowercase[i] >= 'a' && (address.charAt(PREFIX_LEN + i) < 'a') != isUppercase(i)) {
+                    throw new IllegalArgumentException("invalid checksum");
+                }
+            }
+        }
+
+        Address toAddress(final CharSequence checksumAddress) {
+            final Address address = new Address(hi, mid, lo);
+            if(checksumAddress instanceof String) {
+                address.checksumAddress = (String) checksumAddress;
+            }
+            return address;
+        }
+    }
+
+    private static int getLowercaseHex(final CharSequence address, final int i) {
         final int c = address.charAt(i);
         switch (c) {
         case '0':case '1':case '2':case '3':case '4':case '5':case '6':case '7':case '8':case '9':
@@ -0,0 +1,110 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A map from {@link Address} to {@code long} stored as 28 bytes per entry in a flat open-addressing table, on the heap
+ * in a single array or off-heap, rather than as objects. The value may be e.g. an account id or an index into the
+ * caller's own tables. Lookups can be made directly from an encoded word and a map can be saved to and memory-mapped
+ * from a file, as with {@link AddressSet}.
+ * <p>
+ * Not thread-safe for writes. A map which is no longer modified may be read concurrently.
+ */
+public final class AddressMap {
+
+    private final AddressTable table;
+
+    /**
+     * @param expectedSize  the number of entries to size the table for; the table grows as needed
+     */
+    public AddressMap(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    /**
+     * @param expectedSize  the number of entries to size the table for; the table grows as needed
+     * @param direct        whether to store the table off-heap, in a direct buffer
+     */
+    public AddressMap(int expectedSize, boolean direct) {
+        this(new AddressTable(expectedSize, Long.BYTES, direct));
+    }
+
+    private AddressMap(AddressTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Associates the value with the address, replacing any previous value.
+     *
+     * @return  true if the address was not already present
+     */
+    public boolean put(Address address, long value) {
+        return table.put(address, value);
+    }
+
+    public boolean containsKey(Address address) {
+        return table.lookup(address) >= 0;
+    }
+
+    public long get(Address address, long defaultValue) {
+        return valueOrDefault(table.lookup(address), defaultValue);
+    }
+
+    /**
+     * Looks up the address encoded in the 32-byte word at absolute index {@code idx} without moving the buffer's position.
+     *
+     * @param bb    a buffer containing e.g. calldata or a log's data
+     * @param idx   the absolute index of the word's first byte
+     * @param defaultValue  the value to return if the word does not encode an address in this map
+     * @return  the value to which the encoded address is mapped, or {@code defaultValue}
+     */
+    public long get(ByteBuffer bb, int idx, long defaultValue) {
+        return valueOrDefault(table.lookupWord(bb, idx), defaultValue);
+    }
+
+    /**
+     * Like {@link #get(ByteBuffer, int, long)} but for a word given as an array, such as an indexed address's log topic.
+     *
+     * @throws IllegalArgumentException if {@code word} is not 32 bytes long
+     */
+    public long get(byte[] word, long defaultValue) {
+        return valueOrDefault(table.lookupWord(word), defaultValue);
+    }
+
+    private long valueOrDefault(int idx, long defaultValue) {
+        return idx >= 0 ? table.valueAt(idx) : defaultValue;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void save(Path path) throws IOException {
+        table.save(path);
+    }
+
+    /**
+     * Memory-maps a map saved by {@link #save(Path)}. The map is read-only; {@link #put(Address, long)} throws
+     * {@link java.nio.ReadOnlyBufferException}.
+     */
+    public static AddressMap load(Path path) throws IOException {
+        return new AddressMap(AddressTable.load(path, Long.BYTES));
+    }
+}
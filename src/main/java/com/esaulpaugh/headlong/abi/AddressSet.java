@@ -0,0 +1,100 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A set of {@link Address}es stored as 20 bytes each in a flat open-addressing table, on the heap in a single array or
+ * off-heap, rather than as objects. Membership can be tested directly against an encoded word, so that filtering
+ * calldata or log topics against a watch list allocates nothing. A set can be saved to a file and later memory-mapped
+ * read-only by {@link #load(Path)}, which makes it available at once without reading or rehashing.
+ * <p>
+ * Not thread-safe for writes. A set which is no longer modified may be read concurrently.
+ */
+public final class AddressSet {
+
+    private final AddressTable table;
+
+    /**
+     * @param expectedSize  the number of addresses to size the table for; the table grows as needed
+     */
+    public AddressSet(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    /**
+     * @param expectedSize  the number of addresses to size the table for; the table grows as needed
+     * @param direct        whether to store the table off-heap, in a direct buffer
+     */
+    public AddressSet(int expectedSize, boolean direct) {
+        this(new AddressTable(expectedSize, 0, direct));
+    }
+
+    private AddressSet(AddressTable table) {
+        this.table = table;
+    }
+
+    /**
+     * @return  true if the address was not already present
+     */
+    public boolean add(Address address) {
+        return table.put(address, 0L);
+    }
+
+    public boolean contains(Address address) {
+        return table.lookup(address) >= 0;
+    }
+
+    /**
+     * Tests whether the 32-byte word at absolute index {@code idx} is the ABI encoding of an address in this set. Does
+     * not move the buffer's position.
+     *
+     * @param bb    a buffer containing e.g. calldata or a log's data
+     * @param idx   the absolute index of the word's first byte
+     * @return  true if the word's high 12 bytes are zero and its low 20 are an address in this set
+     */
+    public boolean contains(ByteBuffer bb, int idx) {
+        return table.lookupWord(bb, idx) >= 0;
+    }
+
+    /**
+     * Like {@link #contains(ByteBuffer, int)} but for a word given as an array, such as an indexed address's log topic.
+     *
+     * @throws IllegalArgumentException if {@code word} is not 32 bytes long
+     */
+    public boolean contains(byte[] word) {
+        return table.lookupWord(word) >= 0;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void save(Path path) throws IOException {
+        table.save(path);
+    }
+
+    /**
+     * Memory-maps a set saved by {@link #save(Path)}. The set is read-only; {@link #add(Address)} throws
+     * {@link java.nio.ReadOnlyBufferException}.
+     */
+    public static AddressSet load(Path path) throws IOException {
+        return new AddressSet(AddressTable.load(path, 0));
+    }
+}
@@ -0,0 +1,309 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * An open-addressing hash table of 20-byte address keys, each optionally followed by an 8-byte value, stored in a single
+ * flat {@link ByteBuffer} which may be on-heap, direct or memory-mapped. The buffer is always a complete image of the
+ * table, header included, so saving is a single write and loading is a single map. Probing is linear. An all-zero slot
+ * marks an empty slot, so the zero address is recorded in the header instead.
+ * <p>
+ * Layout (big-endian): magic, value length, capacity, size, zero-key flag (four bytes each), four reserved bytes, the
+ * zero key's value (eight bytes), then {@code capacity} slots of key (high int, middle long, low long) and value.
+ */
+final class AddressTable {
+
+    private static final int MAGIC = 0x484c4154; // "HLAT"
+    private static final int VALUE_BYTES_IDX = 4;
+    private static final int CAPACITY_IDX = 8;
+    private static final int SIZE_IDX = 12;
+    private static final int HAS_ZERO_IDX = 16;
+    private static final int ZERO_VALUE_IDX = 24;
+    private static final int HEADER_BYTES = 32;
+
+    private static final int KEY_BYTES = TypeFactory.ADDRESS_BIT_LEN / Byte.SIZE;
+    private static final int ADDRESS_OFFSET = UNIT_LENGTH_BYTES - KEY_BYTES; // within an encoded word
+    private static final int MIN_CAPACITY = 16;
+
+    final int valueBytes;
+    private final int slotBytes;
+    private final int maxCapacity;
+
+    private ByteBuffer buf;
+    private int capacity;
+    private int maxLoad;
+    private int size;
+    private boolean hasZero;
+
+    AddressTable(int expectedSize, int valueBytes, boolean direct) {
+        this.valueBytes = valueBytes;
+        this.slotBytes = KEY_BYTES + valueBytes;
+        this.maxCapacity = (Integer.MAX_VALUE - HEADER_BYTES) / slotBytes;
+        if(expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be non-negative");
+        }
+        final long cap = Math.max(MIN_CAPACITY, expectedSize + (expectedSize / 3L) + 1); // load factor < 0.75
+        if(cap > maxCapacity) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        init(allocate((int) cap, direct), (int) cap);
+    }
+
+    private AddressTable(ByteBuffer buf, int valueBytes) {
+        this.valueBytes = valueBytes;
+        this.slotBytes = KEY_BYTES + valueBytes;
+        this.maxCapacity = (Integer.MAX_VALUE - HEADER_BYTES) / slotBytes;
+        if(buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not an address table");
+        }
+        if(buf.getInt(VALUE_BYTES_IDX) != valueBytes) {
+            throw new IllegalArgumentException("expected value length " + valueBytes + " but found " + buf.getInt(VALUE_BYTES_IDX));
+        }
+        final int cap = buf.getInt(CAPACITY_IDX);
+        if(cap < 1 || cap > maxCapacity || buf.capacity() != HEADER_BYTES + cap * slotBytes) {
+            throw new IllegalArgumentException("corrupt address table: capacity " + cap + ", length " + buf.capacity());
+        }
+        final int size = buf.getInt(SIZE_IDX);
+        final boolean hasZero = buf.getInt(HAS_ZERO_IDX) != 0;
+        final int nonzero = size - (hasZero ? 1 : 0);
+        if(nonzero < 0 || nonzero > maxLoad(cap)) {
+            throw new IllegalArgumentException("corrupt address table: size " + size + ", capacity " + cap);
+        }
+        this.buf = buf;
+        this.capacity = cap;
+        this.maxLoad = maxLoad(cap);
+        this.size = size;
+        this.hasZero = hasZero;
+    }
+
+    private ByteBuffer allocate(int cap, boolean direct) {
+        final int len = HEADER_BYTES + cap * slotBytes;
+        return direct ? ByteBuffer.allocateDirect(len) : ByteBuffer.allocate(len);
+    }
+
+    private void init(ByteBuffer buf, int cap) {
+        buf.putInt(0, MAGIC);
+        buf.putInt(VALUE_BYTES_IDX, valueBytes);
+        buf.putInt(CAPACITY_IDX, cap);
+        buf.putInt(SIZE_IDX, size);
+        buf.putInt(HAS_ZERO_IDX, hasZero ? 1 : 0);
+        if(hasZero && valueBytes != 0) {
+            buf.putLong(ZERO_VALUE_IDX, this.buf.getLong(ZERO_VALUE_IDX));
+        }
+        this.buf = buf;
+        this.capacity = cap;
+        this.maxLoad = maxLoad(cap);
+    }
+
+    private static int maxLoad(int cap) {
+        return (int) (cap * 3L / 4);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return  the index of the key's value in the buffer, or -1 if the key is absent
+     */
+    int lookup(int hi, long mid, long lo) {
+        if((hi | mid | lo) == 0L) {
+            return hasZero ? ZERO_VALUE_IDX : -1;
+        }
+        final int idx = probe(hi, mid, lo);
+        return idx >= 0 ? idx + KEY_BYTES : -1;
+    }
+
+    int lookup(Address key) {
+        return lookup(key.hi, key.mid, key.lo);
+    }
+
+    /**
+     * Looks up the address encoded in the 32-byte word at absolute index {@code idx}, such as an argument in calldata or
+     * an indexed address in a log's data. A word whose high 12 bytes are not zero encodes no address and is not found.
+     */
+    int lookupWord(ByteBuffer bb, int idx) {
+        if(idx < 0 || idx > bb.limit() - UNIT_LENGTH_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        final boolean bigEndian = bb.order() == ByteOrder.BIG_ENDIAN;
+        if(bb.getInt(idx) != 0 || bb.getLong(idx + Integer.BYTES) != 0L) {
+            return -1;
+        }
+        final int hi = bb.getInt(idx + ADDRESS_OFFSET);
+        return lookup(
+                bigEndian ? hi : Integer.reverseBytes(hi),
+                UnitType.getLongBigEndian(bb, idx + ADDRESS_OFFSET + Integer.BYTES),
+                UnitType.getLongBigEndian(bb, idx + ADDRESS_OFFSET + Integer.BYTES + Long.BYTES)
+        );
+    }
+
+    /** Like {@link #lookupWord(ByteBuffer, int)} but for a word given as an array, such as a log topic. */
+    int lookupWord(byte[] word) {
+        if(word.length != UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("word length must be " + UNIT_LENGTH_BYTES + " but found " + word.length);
+        }
+        if(Address.getLong(word, 0, Integer.BYTES) != 0L || Address.getLong(word, Integer.BYTES, Long.BYTES) != 0L) {
+            return -1;
+        }
+        return lookup(
+                (int) Address.getLong(word, ADDRESS_OFFSET, Integer.BYTES),
+                Address.getLong(word, ADDRESS_OFFSET + Integer.BYTES, Long.BYTES),
+                Address.getLong(word, ADDRESS_OFFSET + Integer.BYTES + Long.BYTES, Long.BYTES)
+        );
+    }
+
+    long valueAt(int idx) {
+        return buf.getLong(idx);
+    }
+
+    /**
+     * @return  true if the key was not already present
+     */
+    boolean put(Address key, long value) {
+        if(buf.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        final int hi = key.hi;
+        final long mid = key.mid;
+        final long lo = key.lo;
+        if((hi | mid | lo) == 0L) {
+            final boolean added = !hasZero;
+            if(added) {
+                buf.putInt(HAS_ZERO_IDX, 1);
+                buf.putInt(SIZE_IDX, size + 1);
+                hasZero = true;
+                size++;
+            }
+            putValue(ZERO_VALUE_IDX, value);
+            return added;
+        }
+        int idx = probe(hi, mid, lo);
+        if(idx >= 0) {
+            putValue(idx + KEY_BYTES, value);
+            return false;
+        }
+        if(size - (hasZero ? 1 : 0) >= maxLoad) {
+            grow();
+            idx = probe(hi, mid, lo);
+        }
+        idx = ~idx;
+        buf.putInt(idx, hi);
+        buf.putLong(idx + Integer.BYTES, mid);
+        buf.putLong(idx + Integer.BYTES + Long.BYTES, lo);
+        putValue(idx + KEY_BYTES, value);
+        buf.putInt(SIZE_IDX, size + 1);
+        size++;
+        return true;
+    }
+
+    private void putValue(int idx, long value) {
+        if(valueBytes != 0) {
+            buf.putLong(idx, value);
+        }
+    }
+
+    /**
+     * @return  the index of the slot holding the key, or the bitwise complement of the index of the empty slot where
+     *          probing ended
+     * @throws IllegalStateException    if the key is absent and there is no empty slot, which only a corrupt file can cause
+     */
+    private int probe(int hi, long mid, long lo) {
+        int slot = slot(hi, mid, lo, capacity);
+        for (int i = 0; i < capacity; i++) {
+            final int idx = HEADER_BYTES + slot * slotBytes;
+            final int h = buf.getInt(idx);
+            final long m = buf.getLong(idx + Integer.BYTES);
+            final long l = buf.getLong(idx + Integer.BYTES + Long.BYTES);
+            if(l == lo && m == mid && h == hi) {
+                return idx;
+            }
+            if((h | m | l) == 0L) {
+                return ~idx;
+            }
+            if(++slot == capacity) {
+                slot = 0;
+            }
+        }
+        throw new IllegalStateException("corrupt address table: no empty slot");
+    }
+
+    private static int slot(int hi, long mid, long lo, int capacity) {
+        long h = lo * 0x9E3779B97F4A7C15L;
+        h = (h ^ mid) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ hi) * 0x9E3779B97F4A7C15L;
+        return (int) (((h >>> 32) * capacity) >>> 32); // maps the high 32 bits onto [0, capacity) without division
+    }
+
+    private void grow() {
+        if(capacity == maxCapacity) {
+            throw new IllegalStateException("address table is full");
+        }
+        final ByteBuffer old = buf;
+        final int oldCapacity = capacity;
+        final int cap = (int) Math.min((long) capacity * 2, maxCapacity);
+        init(allocate(cap, old.isDirect()), cap);
+        for (int s = 0; s < oldCapacity; s++) {
+            final int idx = HEADER_BYTES + s * slotBytes;
+            final int h = old.getInt(idx);
+            final long m = old.getLong(idx + Integer.BYTES);
+            final long l = old.getLong(idx + Integer.BYTES + Long.BYTES);
+            if((h | m | l) != 0L) {
+                final int dest = ~probe(h, m, l);
+                buf.putInt(dest, h);
+                buf.putLong(dest + Integer.BYTES, m);
+                buf.putLong(dest + Integer.BYTES + Long.BYTES, l);
+                putValue(dest + KEY_BYTES, valueBytes != 0 ? old.getLong(idx + KEY_BYTES) : 0L);
+            }
+        }
+    }
+
+    void save(Path path) throws IOException {
+        final ByteBuffer src = buf.duplicate();
+        src.position(0);
+        src.limit(src.capacity());
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (src.hasRemaining()) {
+                ch.write(src);
+            }
+        }
+    }
+
+    /**
+     * Maps the file read-only. The returned table shares the file's pages; attempts to modify it throw
+     * {@link ReadOnlyBufferException}.
+     */
+    static AddressTable load(Path path, int valueBytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long len = ch.size();
+            if(len > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("file too large: " + len);
+            }
+            return new AddressTable(ch.map(FileChannel.MapMode.READ_ONLY, 0, len), valueBytes);
+        }
+    }
+}
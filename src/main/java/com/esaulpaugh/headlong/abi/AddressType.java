@@ -20,12 +20,21 @@ import java.nio.ByteBuffer;
 /** The {@link ABIType} for {@link Address}. Corresponds to the "address" type. */
 public final class AddressType extends UnitType<Address> {
 
-    private static final BigIntegerType ADDRESS_INNER = new BigIntegerType("ADDRESS_INNER", TypeFactory.ADDRESS_BIT_LEN, true);
+    private static final int ADDRESS_DATA_BYTES = TypeFactory.ADDRESS_BIT_LEN / Byte.SIZE;
 
     AddressType() {
         super("address", Address.class, TypeFactory.ADDRESS_BIT_LEN, true);
     }
 
+    private AddressType(AddressType other, String name) {
+        super(other, name);
+    }
+
+    @Override
+    AddressType copy(String name) {
+        return new AddressType(this, name);
+    }
+
     @Override
     Class<?> arrayClass() {
         return Address[].class;
@@ -38,22 +47,31 @@ public final class AddressType extends UnitType<Address> {
 
     @Override
     public int validate(Address value) {
-        return ADDRESS_INNER.validate(value.value());
+        return UNIT_LENGTH_BYTES; // every Address is within range by construction
     }
 
     @Override
     void encodeTail(Object value, ByteBuffer dest) {
-        ADDRESS_INNER.encodeTail(((Address) value).value(), dest);
+        Encoding.insert00Padding(UNIT_LENGTH_BYTES - ADDRESS_DATA_BYTES, dest);
+        encodePackedUnchecked((Address) value, dest);
     }
 
     @Override
     Address decode(ByteBuffer bb, byte[] unitBuffer) {
-        return new Address(ADDRESS_INNER.decode(bb, unitBuffer));
+        final int idx = bb.position();
+        final long lo = decodeWord(bb, idx); // checks the bit length
+        final Address address = new Address(
+                (int) getLongBigEndian(bb, idx + Long.BYTES),
+                getLongBigEndian(bb, idx + Long.BYTES * 2),
+                lo
+        );
+        bb.position(idx + UNIT_LENGTH_BYTES);
+        return address;
     }
 
     @Override
     void encodePackedUnchecked(Address value, ByteBuffer dest) {
-        ADDRESS_INNER.encodePackedUnchecked(value.value(), dest);
+        dest.putInt(value.hi).putLong(value.mid).putLong(value.lo);
     }
 
     @Override
@@ -58,6 +58,20 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         this.headLength = dynamic ? OFFSET_LENGTH_BYTES : staticArrayHeadLength(this);
     }
 
+    private ArrayType(ArrayType<E, J> other, String name) {
+        super(other, name);
+        this.isString = other.isString;
+        this.elementType = other.elementType;
+        this.length = other.length;
+        this.arrayClass = other.arrayClass;
+        this.headLength = other.headLength;
+    }
+
+    @Override
+    ArrayType<E, J> copy(String name) {
+        return new ArrayType<>(this, name);
+    }
+
     static int staticArrayHeadLength(ABIType<?> type) {
         int length = 1;
         do {
@@ -189,6 +203,27 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         }
     }
 
+    @Override
+    int validate(Object value, ByteLengths lengths) {
+        if(!elementType.dynamic) { // only arrays and tuples are dynamic
+            return _validate(value);
+        }
+        final Object[] arr = (Object[]) validateClass(value);
+        final int base = lengths.reserve(checkLength(arr.length, arr));
+        int len = OFFSET_LENGTH_BYTES * arr.length;
+        int i = 0;
+        try {
+            for ( ; i < arr.length; i++) {
+                final int byteLen = elementType.validate(arr[i], lengths);
+                lengths.set(base + i, byteLen);
+                len += byteLen;
+            }
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalArgumentException("array index " + i + ": " + iae.getMessage(), iae);
+        }
+        return totalLen(len, length == DYNAMIC_LENGTH);
+    }
+
     private int validateBooleans(boolean[] arr) {
         return checkLength(arr.length, arr) * UNIT_LENGTH_BYTES;
     }
@@ -248,7 +283,34 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
 
     private void encodeObjects(Object[] arr, ByteBuffer dest) {
         encodeArrayLen(arr.length, dest);
-        TupleType.encodeObjects(dynamic, arr, i -> elementType, dest, OFFSET_LENGTH_BYTES * arr.length);
+        if(elementType.dynamic) {
+            int offset = OFFSET_LENGTH_BYTES * arr.length;
+            for (Object e : arr) {
+                offset = elementType.encodeHead(e, dest, offset);
+            }
+        }
+        for (Object e : arr) {
+            elementType.encodeTail(e, dest);
+        }
+    }
+
+    @Override
+    void encodeTail(Object value, ByteBuffer dest, ByteLengths lengths) {
+        if(!elementType.dynamic) { // only arrays and tuples are dynamic
+            encodeTail(value, dest);
+            return;
+        }
+        final Object[] arr = (Object[]) value;
+        encodeArrayLen(arr.length, dest);
+        final int base = lengths.take(arr.length);
+        int offset = OFFSET_LENGTH_BYTES * arr.length;
+        for (int i = 0; i < arr.length; i++) {
+            Encoding.insertIntUnsigned(offset, dest);
+            offset += lengths.get(base + i);
+        }
+        for (Object e : arr) {
+            elementType.encodeTail(e, dest, lengths);
+        }
     }
 
     private void encodeArrayLen(int len, ByteBuffer dest) {
@@ -324,19 +386,24 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     J decode(ByteBuffer bb, byte[] unitBuffer) {
-        final int arrayLen = length == DYNAMIC_LENGTH ? Encoding.UINT17.decode(bb, unitBuffer) : length;
+        return decode(bb, unitBuffer, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    J decode(ByteBuffer bb, byte[] unitBuffer, ForkJoinDecoder forkJoin) {
+        final int arrayLen = length == DYNAMIC_LENGTH ? (int) Encoding.UINT17.decodePrimitive(bb) : length;
         switch (elementType.typeCode()) {
         case TYPE_CODE_BOOLEAN: return (J) decodeBooleans(arrayLen, bb, unitBuffer);
         case TYPE_CODE_BYTE: return (J) decodeBytes(arrayLen, bb);
-        case TYPE_CODE_INT: return (J) decodeInts(arrayLen, bb, (IntType) elementType, unitBuffer);
-        case TYPE_CODE_LONG: return (J) decodeLongs(arrayLen, bb, (LongType) elementType, unitBuffer);
+        case TYPE_CODE_INT: return (J) decodeInts(arrayLen, bb, (IntType) elementType);
+        case TYPE_CODE_LONG: return (J) decodeLongs(arrayLen, bb, (LongType) elementType);
         case TYPE_CODE_BIG_INTEGER:
         case TYPE_CODE_BIG_DECIMAL:
         case TYPE_CODE_ARRAY:
         case TYPE_CODE_TUPLE:
-        case TYPE_CODE_ADDRESS: return (J) decodeObjects(arrayLen, bb, unitBuffer);
+        case TYPE_CODE_ADDRESS: return (J) decodeObjects(arrayLen, bb, unitBuffer, forkJoin);
         default: throw new AssertionError();
         }
     }
@@ -374,25 +441,39 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         return encodeIfString(data);
     }
 
-    private static Object decodeInts(int len, ByteBuffer bb, IntType intType, byte[] unitBuffer) {
+    private static Object decodeInts(int len, ByteBuffer bb, IntType intType) {
         int[] ints = new int[len];
         for (int i = 0; i < len; i++) {
-            ints[i] = intType.decode(bb, unitBuffer);
+            ints[i] = (int) intType.decodePrimitive(bb);
         }
         return ints;
     }
 
-    private static Object decodeLongs(int len, ByteBuffer bb, LongType longType, byte[] unitBuffer) {
+    private static Object decodeLongs(int len, ByteBuffer bb, LongType longType) {
         long[] longs = new long[len];
         for (int i = 0; i < len; i++) {
-            longs[i] = longType.decode(bb, unitBuffer);
+            longs[i] = longType.decodePrimitive(bb);
         }
         return longs;
     }
 
-    private Object decodeObjects(int len, ByteBuffer bb, byte[] unitBuffer) {
-        Object[] elements = (Object[]) Array.newInstance(elementType.clazz, len); // reflection ftw
-        TupleType.decodeObjects(bb, unitBuffer, i -> elementType, elements);
+    private Object decodeObjects(int len, ByteBuffer bb, byte[] unitBuffer, ForkJoinDecoder forkJoin) {
+        final Object[] elements = (Object[]) Array.newInstance(elementType.clazz, len); // reflection ftw
+        if(!elementType.dynamic) {
+            for (int i = 0; i < len; i++) {
+                elements[i] = elementType.decode(bb, unitBuffer);
+            }
+            return elements;
+        }
+        if(forkJoin != null && len >= forkJoin.threshold && forkJoin.decodeElements(elementType, elements, bb)) {
+            return elements;
+        }
+        final int start = bb.position(); // the offsets are relative to the start of the head
+        TupleType.skipHead(bb, OFFSET_LENGTH_BYTES * len);
+        for (int i = 0; i < len; i++) {
+            TupleType.jumpToTail(bb, start, start + OFFSET_LENGTH_BYTES * i);
+            elements[i] = elementType.decode(bb, unitBuffer, forkJoin);
+        }
         return elements;
     }
 
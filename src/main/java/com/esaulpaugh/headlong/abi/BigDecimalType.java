@@ -29,6 +29,16 @@ public final class BigDecimalType extends UnitType<BigDecimal> {
         this.scale = scale;
     }
 
+    private BigDecimalType(BigDecimalType other, String name) {
+        super(other, name);
+        this.scale = other.scale;
+    }
+
+    @Override
+    BigDecimalType copy(String name) {
+        return new BigDecimalType(this, name);
+    }
+
     public int getScale() {
         return scale;
     }
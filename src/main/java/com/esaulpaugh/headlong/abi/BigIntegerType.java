@@ -25,6 +25,15 @@ public final class BigIntegerType extends UnitType<BigInteger> {
         super(canonicalType, BigInteger.class, bitLength, unsigned);
     }
 
+    private BigIntegerType(BigIntegerType other, String name) {
+        super(other, name);
+    }
+
+    @Override
+    BigIntegerType copy(String name) {
+        return new BigIntegerType(this, name);
+    }
+
     @Override
     Class<?> arrayClass() {
         return BigInteger[].class;
@@ -15,7 +15,6 @@
 */
 package com.esaulpaugh.headlong.abi;
 
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 /** Unsigned 0 or 1. */
@@ -32,6 +31,15 @@ public final class BooleanType extends UnitType<Boolean> {
         super("bool", Boolean.class, 1, true);
     }
 
+    private BooleanType(BooleanType other, String name) {
+        super(other, name);
+    }
+
+    @Override
+    BooleanType copy(String name) {
+        return new BooleanType(this, name);
+    }
+
     @Override
     Class<?> arrayClass() {
         return boolean[].class;
@@ -64,10 +72,10 @@ public final class BooleanType extends UnitType<Boolean> {
 
     @Override
     Boolean decode(ByteBuffer bb, byte[] unitBuffer) {
-        bb.get(unitBuffer);
-        BigInteger bi = new BigInteger(unitBuffer);
-        validateBigInt(bi);
-        return decodeBoolean(bi.byteValue());
+        if(bb.remaining() >= UNIT_LENGTH_BYTES && bb.get(bb.position()) < 0) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+        return decodePrimitive(bb) != 0L ? Boolean.TRUE : Boolean.FALSE; // bit limit of 1
     }
 
     static void encodeBooleanPacked(boolean value, ByteBuffer dest) {
@@ -0,0 +1,166 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe map of bounded size which evicts approximately the least recently used entries. Reads are lock-free;
+ * each stamps its entry with the value of a clock which advances only on insertion, writing the stamp only if it is
+ * stale, so that repeated hits write nothing to shared memory. When an insertion takes the size past the capacity, one
+ * thread evicts the entries whose stamps are no newer than a cutoff estimated from a bounded random sample of stamps,
+ * taking the size down to seven eighths of the capacity so that the cost of the scan is spread over many insertions.
+ */
+final class BoundedCache<K, V> {
+
+    private static final int SAMPLE_SIZE = 64;
+
+    private static final class Entry<V> {
+
+        final V value;
+        volatile long stamp;
+
+        Entry(V value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+    }
+
+    private final int capacity;
+    private final ConcurrentHashMap<K, Entry<V>> map;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+
+    BoundedCache(int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    V get(K key) {
+        final Entry<V> e = map.get(key);
+        if(e == null) {
+            return null;
+        }
+        touch(e);
+        return e.value;
+    }
+
+    private void touch(Entry<V> e) {
+        final long now = clock.get();
+        if(e.stamp != now) {
+            e.stamp = now;
+        }
+    }
+
+    /**
+     * @return the value already mapped to the key, if any, otherwise the given value
+     */
+    V putIfAbsent(K key, V value) {
+        final Entry<V> existing = map.putIfAbsent(key, new Entry<>(value, clock.incrementAndGet()));
+        if(existing != null) {
+            touch(existing);
+            return existing.value;
+        }
+        if(map.size() > capacity) {
+            evict();
+        }
+        return value;
+    }
+
+    void clear() {
+        map.clear();
+    }
+
+    /**
+     * @return the number of entries evicted by this call
+     */
+    int evict() {
+        if(!evictionLock.tryLock()) {
+            return 0; // another thread is evicting
+        }
+        try {
+            final int target = capacity - (capacity >>> 3);
+            if(map.size() <= capacity) {
+                return 0;
+            }
+            int evicted = 0;
+            int excess;
+            while ((excess = map.size() - target) > 0) {
+                final long cutoff = cutoff(excess);
+                int removed = 0;
+                final Iterator<Map.Entry<K, Entry<V>>> iter = map.entrySet().iterator();
+                while (removed < excess && iter.hasNext()) {
+                    final Map.Entry<K, Entry<V>> e = iter.next();
+                    if(e.getValue().stamp <= cutoff && map.remove(e.getKey(), e.getValue())) {
+                        removed++;
+                    }
+                }
+                if(removed == 0) {
+                    break; // every candidate was touched meanwhile
+                }
+                evicted += removed;
+            }
+            evictions.add(evicted);
+            return evicted;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /* estimates, from a random sample of stamps, the stamp no newer than which about k entries are */
+    private long cutoff(int k) {
+        final long[] sample = new long[SAMPLE_SIZE];
+        final ThreadLocalRandom rand = ThreadLocalRandom.current();
+        int seen = 0;
+        for (Entry<V> e : map.values()) { // reservoir sampling
+            final int idx = seen < SAMPLE_SIZE ? seen : rand.nextInt(seen + 1);
+            if(idx < SAMPLE_SIZE) {
+                sample[idx] = e.stamp;
+            }
+            seen++;
+        }
+        final int n = Math.min(seen, SAMPLE_SIZE);
+        if(n == 0) {
+            return Long.MIN_VALUE;
+        }
+        Arrays.sort(sample, 0, n);
+        final int rank = (int) Math.min(n, ((long) k * n + seen - 1) / seen); // ceil(k * n / seen), at least 1
+        return sample[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,59 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space in which validation records the encoded byte length of every dynamic element so that encoding need not
+ * measure the same subtrees again. Each tuple or array reserves one slot per dynamic element before validating its
+ * elements; encoding visits the values in the same order and so takes the slots back in the order they were reserved.
+ */
+final class ByteLengths {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] lengths = EMPTY;
+    private int reserved;
+    private int taken;
+
+    int reserve(int n) {
+        final int base = reserved;
+        reserved += n;
+        if(reserved > lengths.length) {
+            lengths = Arrays.copyOf(lengths, Math.max(reserved, lengths.length * 2));
+        }
+        return base;
+    }
+
+    void set(int slot, int byteLength) {
+        lengths[slot] = byteLength;
+    }
+
+    int take(int n) {
+        final int base = taken;
+        taken += n;
+        return base;
+    }
+
+    int get(int slot) {
+        return lengths[slot];
+    }
+
+    void clear() {
+        reserved = taken = 0;
+    }
+}
@@ -26,6 +26,15 @@ public final class ByteType extends UnitType<Byte> {
         super("int8", Byte.class, Byte.SIZE, false);
     }
 
+    private ByteType(ByteType other, String name) {
+        super(other, name);
+    }
+
+    @Override
+    ByteType copy(String name) {
+        return new ByteType(this, name);
+    }
+
     @Override
     Class<?> arrayClass() {
         return byte[].class;
@@ -48,7 +57,7 @@ public final class ByteType extends UnitType<Byte> {
 
     @Override
     Byte decode(ByteBuffer bb, byte[] unitBuffer) {
-        return decodeValid(bb, unitBuffer).byteValue();
+        return (byte) decodePrimitive(bb);
     }
 
     @Override
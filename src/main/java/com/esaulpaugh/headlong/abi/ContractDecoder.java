@@ -0,0 +1,142 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes calls to any of a contract's functions by dispatching on the 4-byte selector. Selectors are stored as
+ * primitive {@code int}s in an open-addressing table, so a lookup neither allocates nor compares byte arrays.
+ * Only functions of type {@link TypeEnum#FUNCTION} are included, the other types having no selector by which they can
+ * be called.
+ */
+public final class ContractDecoder {
+
+    /** A decoded call: the {@link Function} called and its arguments. */
+    public static final class Call {
+
+        private final Function function;
+        private final Tuple args;
+
+        private Call(Function function, Tuple args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        public Function getFunction() {
+            return function;
+        }
+
+        public Tuple getArgs() {
+            return args;
+        }
+    }
+
+    private final int[] selectors;
+    private final Function[] functions; // null marks an empty slot
+    private final int mask;
+    private final List<Function> functionList;
+
+    /**
+     * @param functions the contract's functions, e.g. from {@link ABIJSON#parseFunctions(String)}
+     * @throws IllegalArgumentException if two functions share a selector
+     */
+    public ContractDecoder(Collection<Function> functions) {
+        final List<Function> list = new ArrayList<>(functions.size());
+        for (Function f : functions) {
+            if(f.getType() == TypeEnum.FUNCTION) {
+                list.add(f);
+            }
+        }
+        final int capacity = Integer.highestOneBit(Math.max(1, list.size()) * 2 - 1) << 1; // load factor <= 0.5
+        this.selectors = new int[capacity];
+        this.functions = new Function[capacity];
+        this.mask = capacity - 1;
+        for (Function f : list) {
+            insert(f);
+        }
+        this.functionList = Collections.unmodifiableList(list);
+    }
+
+    public static ContractDecoder fromJson(String arrayJson) {
+        return new ContractDecoder(ABIJSON.parseNormalFunctions(arrayJson));
+    }
+
+    private void insert(Function f) {
+        final int selector = ByteBuffer.wrap(f.selector()).getInt();
+        int slot = selector & mask; // selectors are hash outputs and need no further mixing
+        Function existing;
+        while ((existing = functions[slot]) != null) {
+            if(selectors[slot] == selector) {
+                throw new IllegalArgumentException("selector collision: " + f.selectorHex() + " is the selector of both "
+                        + existing.getCanonicalSignature() + " and " + f.getCanonicalSignature());
+            }
+            slot = (slot + 1) & mask;
+        }
+        selectors[slot] = selector;
+        functions[slot] = f;
+    }
+
+    public List<Function> getFunctions() {
+        return functionList;
+    }
+
+    /**
+     * @param selector  the four selector bytes as a big-endian int
+     * @return  the function with the given selector, or {@code null} if there is none
+     */
+    public Function getFunction(int selector) {
+        int slot = selector & mask;
+        Function f;
+        while ((f = functions[slot]) != null) {
+            if(selectors[slot] == selector) {
+                return f;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public Call decode(byte[] call) {
+        return decode(ByteBuffer.wrap(call));
+    }
+
+    /**
+     * Reads the selector at the buffer's current position, finds the function it belongs to, and decodes the arguments
+     * which follow.
+     *
+     * @param calldata  the encoded function call
+     * @return  the function and its decoded arguments
+     * @throws IllegalArgumentException if the selector is unrecognized or the arguments are malformed
+     */
+    public Call decode(ByteBuffer calldata) {
+        final int selector = (calldata.get() & 0xFF) << 24
+                | (calldata.get() & 0xFF) << 16
+                | (calldata.get() & 0xFF) << 8
+                | (calldata.get() & 0xFF);
+        final Function f = getFunction(selector);
+        if(f == null) {
+            throw new IllegalArgumentException("unrecognized selector: " + Strings.encode(ByteBuffer.allocate(Function.SELECTOR_LEN).putInt(selector).array()));
+        }
+        return new Call(f, f.getInputs().decode(calldata));
+    }
+}
@@ -51,7 +51,21 @@ final class Encoding {
         dest.putLong(val);
     }
 
+    /**
+     * Writes the low-order {@code paddedLen} bytes of the two's complement representation of {@code signed}. Values of
+     * fewer than 64 bits are written without allocating. For wider values held as limbs, see
+     * {@link UnitType#encodeLimbs(long[], ByteBuffer)}.
+     */
     static void insertInt(BigInteger signed, int paddedLen, ByteBuffer dest) {
+        if(signed.bitLength() < Long.SIZE) {
+            final long val = signed.longValue();
+            final int len = Math.min(paddedLen, Long.BYTES);
+            insertPadding(paddedLen - len, val < 0, dest);
+            for (int i = len - 1; i >= 0; i--) {
+                dest.put((byte) (val >>> (i * Byte.SIZE)));
+            }
+            return;
+        }
         byte[] arr = signed.toByteArray();
         if(arr.length <= paddedLen) {
             insertPadding(paddedLen - arr.length, signed.signum() < 0, dest);
@@ -16,11 +16,19 @@
 package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.abi.util.JsonUtils;
+import com.esaulpaugh.headlong.util.Strings;
 import com.google.gson.JsonObject;
+import com.joemelsha.crypto.hash.Keccak256;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_ARRAY;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BYTE;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_TUPLE;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
 /** Represents an event in Ethereum. */
 public final class Event implements ABIObject {
 
@@ -28,6 +36,9 @@ public final class Event implements ABIObject {
     private final boolean anonymous;
     private final TupleType inputs;
     private final boolean[] indexManifest;
+    private final TupleType indexedParams;
+    private final TupleType nonIndexedParams;
+    final byte[] signatureHash;
 
     public static Event create(String name, TupleType inputs, boolean... indexed) {
         return new Event(name, false, inputs, indexed);
@@ -45,6 +56,11 @@ public final class Event implements ABIObject {
         }
         this.indexManifest = Arrays.copyOf(indexed, indexed.length);
         this.anonymous = anonymous;
+        this.indexedParams = inputs.select(indexManifest);
+        this.nonIndexedParams = inputs.exclude(indexManifest);
+        final byte[] signature = Strings.decode(getCanonicalSignature(), Strings.ASCII);
+        this.signatureHash = new byte[Keccak256.DIGEST_LEN];
+        Keccak256.hash(signature, 0, signature.length, signatureHash, 0);
     }
 
     @Override
@@ -76,11 +92,77 @@ public final class Event implements ABIObject {
     }
 
     public TupleType getIndexedParams() {
-        return inputs.select(indexManifest);
+        return indexedParams;
     }
 
     public TupleType getNonIndexedParams() {
-        return inputs.exclude(indexManifest);
+        return nonIndexedParams;
+    }
+
+    /**
+     * Returns the Keccak-256 hash of the canonical signature, which is the first topic of every log emitted by this
+     * event unless the event is anonymous.
+     *
+     * @return the 32-byte signature hash
+     */
+    public byte[] topic0() {
+        return Arrays.copyOf(signatureHash, signatureHash.length);
+    }
+
+    /**
+     * Decodes a log emitted by this event. Indexed parameters are read from the topics and the rest from the data.
+     * Indexed strings, bytes, arrays and tuples are stored in the log only as the Keccak-256 hash of their encoding and
+     * so are returned as that 32-byte hash.
+     *
+     * @param topics    the log's topics, including topic0 unless the event is anonymous
+     * @param data      the log's data
+     * @return  the values of all parameters in declaration order
+     * @throws IllegalArgumentException if the topics do not belong to this event or the data is malformed
+     */
+    public Tuple decodeLog(byte[][] topics, byte[] data) {
+        final int expectedTopics = indexedParams.size() + (anonymous ? 0 : 1);
+        if(topics.length != expectedTopics) {
+            throw new IllegalArgumentException("expected " + expectedTopics + " topics but found " + topics.length);
+        }
+        int t = 0;
+        if(!anonymous) {
+            if(!Arrays.equals(topics[0], signatureHash)) {
+                throw new IllegalArgumentException("unexpected topic0: expected " + Strings.encode(signatureHash)
+                        + ", found " + Strings.encode(topics[0]));
+            }
+            t = 1;
+        }
+        final Object[] nonIndexed = nonIndexedParams.decode(data).elements;
+        final Object[] values = new Object[indexManifest.length];
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        for (int i = 0, n = 0; i < values.length; i++) {
+            values[i] = indexManifest[i]
+                    ? decodeTopic(inputs.get(i), topics[t++], unitBuffer)
+                    : nonIndexed[n++];
+        }
+        return new Tuple(values);
+    }
+
+    private static Object decodeTopic(ABIType<?> type, byte[] topic, byte[] unitBuffer) {
+        if(topic.length != UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("topic length must be " + UNIT_LENGTH_BYTES + " but found " + topic.length);
+        }
+        return isHashedWhenIndexed(type)
+                ? Arrays.copyOf(topic, UNIT_LENGTH_BYTES)
+                : type.decode(ByteBuffer.wrap(topic), unitBuffer);
+    }
+
+    /* only value types, including bytes1 through bytes32, are stored in topics as-is */
+    private static boolean isHashedWhenIndexed(ABIType<?> type) {
+        switch (type.typeCode()) {
+        case TYPE_CODE_ARRAY:
+            final ArrayType<?, ?> at = (ArrayType<?, ?>) type;
+            return at.dynamic
+                    || at.getElementType().typeCode() != TYPE_CODE_BYTE
+                    || at.getLength() > UNIT_LENGTH_BYTES;
+        case TYPE_CODE_TUPLE: return true;
+        default: return false;
+        }
     }
 
     @Override
@@ -0,0 +1,158 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the {@link Event} which emitted a log by its first topic and decodes the log. Events are stored in an
+ * open-addressing table keyed by the leading eight bytes of topic0 as a primitive {@code long}; a full comparison of
+ * the 32-byte hash confirms each match. Events sharing a signature but differing in the number of indexed parameters
+ * (e.g. ERC-20 and ERC-721 {@code Transfer}) are told apart by the number of topics. Anonymous events emit no topic0
+ * and are not included.
+ */
+public final class EventRegistry {
+
+    /** A decoded log: the {@link Event} which emitted it and its arguments. */
+    public static final class Log {
+
+        private final Event event;
+        private final Tuple args;
+
+        private Log(Event event, Tuple args) {
+            this.event = event;
+            this.args = args;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public Tuple getArgs() {
+            return args;
+        }
+    }
+
+    private final long[] keys;
+    private final Event[] events; // null marks an empty slot
+    private final int mask;
+    private final List<Event> eventList;
+
+    /**
+     * @param events    the contract's events, e.g. from {@link ABIJSON#parseEvents(String)}
+     * @throws IllegalArgumentException if two events have the same topic0 and the same number of topics
+     */
+    public EventRegistry(Collection<Event> events) {
+        final List<Event> list = new ArrayList<>(events.size());
+        for (Event e : events) {
+            if(!e.isAnonymous()) {
+                list.add(e);
+            }
+        }
+        final int capacity = Integer.highestOneBit(Math.max(1, list.size()) * 2 - 1) << 1; // load factor <= 0.5
+        this.keys = new long[capacity];
+        this.events = new Event[capacity];
+        this.mask = capacity - 1;
+        for (Event e : list) {
+            insert(e);
+        }
+        this.eventList = Collections.unmodifiableList(list);
+    }
+
+    public static EventRegistry fromJson(String arrayJson) {
+        return new EventRegistry(ABIJSON.parseEvents(arrayJson));
+    }
+
+    private void insert(Event e) {
+        final long key = key(e.signatureHash);
+        final int topicCount = topicCount(e);
+        int slot = (int) key & mask; // hash output needs no further mixing
+        Event existing;
+        while ((existing = events[slot]) != null) {
+            if(keys[slot] == key && topicCount(existing) == topicCount && Arrays.equals(existing.signatureHash, e.signatureHash)) {
+                throw new IllegalArgumentException("duplicate topic0: " + Strings.encode(e.signatureHash) + " with "
+                        + topicCount + " topics for both " + existing.getCanonicalSignature() + " and " + e.getCanonicalSignature());
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        events[slot] = e;
+    }
+
+    private static int topicCount(Event e) {
+        return 1 + e.getIndexedParams().size();
+    }
+
+    private static long key(byte[] topic0) {
+        long key = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = key << Byte.SIZE | (topic0[i] & 0xFFL);
+        }
+        return key;
+    }
+
+    public List<Event> getEvents() {
+        return eventList;
+    }
+
+    /**
+     * @param topics    a log's topics
+     * @return  the event which emits logs with the given topic0 and number of topics, or {@code null} if there is none
+     */
+    public Event getEvent(byte[][] topics) {
+        if(topics.length == 0) {
+            return null;
+        }
+        final byte[] topic0 = topics[0];
+        if(topic0.length != UnitType.UNIT_LENGTH_BYTES) {
+            return null;
+        }
+        final long key = key(topic0);
+        int slot = (int) key & mask;
+        Event e;
+        while ((e = events[slot]) != null) {
+            if(keys[slot] == key && topicCount(e) == topics.length && Arrays.equals(e.signatureHash, topic0)) {
+                return e;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the event which emitted the log and decodes the log.
+     *
+     * @param topics    the log's topics
+     * @param data      the log's data
+     * @return  the event and its decoded arguments
+     * @throws IllegalArgumentException if no registered event matches the topics or the log is malformed
+     * @see Event#decodeLog(byte[][], byte[])
+     */
+    public Log decodeLog(byte[][] topics, byte[] data) {
+        final Event e = getEvent(topics);
+        if(e == null) {
+            throw new IllegalArgumentException("unrecognized topic0: "
+                    + (topics.length == 0 ? "none" : Strings.encode(topics[0]) + " with " + topics.length + " topics"));
+        }
+        return new Log(e, e.decodeLog(topics, data));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static com.esaulpaugh.headlong.abi.Encoding.OFFSET_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.abi.Encoding.UINT31;
+
+/**
+ * Decodes the elements of large arrays of dynamic elements concurrently. Every element's offset is in the head, so
+ * the elements can be decoded independently, each from its own view of the buffer. The checks which the sequential
+ * decode interleaves with decoding (offset range, the lenient forward-jump rule, element errors) are then replayed in
+ * order, so that the result, or the first exception thrown, is the same as that of the sequential decode.
+ * <p>
+ * Offsets which cannot satisfy the forward-jump rule, such as many heads pointing at one tail, are detected before any
+ * element is decoded; such arrays are left to the sequential decode, which rejects them without decoding every element.
+ */
+final class ForkJoinDecoder {
+
+    final ForkJoinPool pool;
+    final int threshold;
+
+    ForkJoinDecoder(ForkJoinPool pool, int threshold) {
+        if(threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        this.pool = Objects.requireNonNull(pool);
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return false, leaving the buffer's position unchanged, if the offsets violate the forward-jump rule, in which
+     *          case the caller must decode the elements sequentially
+     */
+    boolean decodeElements(ABIType<?> elementType, Object[] elements, ByteBuffer bb) {
+        final int len = elements.length;
+        final int start = bb.position(); // the offsets are relative to the start of the head
+        TupleType.skipHead(bb, OFFSET_LENGTH_BYTES * len);
+        final int[] offsets = new int[len];
+        int n = 0;
+        RuntimeException offsetErr = null;
+        for ( ; n < len; n++) {
+            try {
+                offsets[n] = (int) UINT31.decodeWord(bb, start + OFFSET_LENGTH_BYTES * n);
+            } catch (RuntimeException re) {
+                offsetErr = re; // elements before n are still checked first, as they would be when decoding sequentially
+                break;
+            }
+        }
+        if(!ascending(offsets, n, start, bb.position())) {
+            bb.position(start);
+            return false;
+        }
+        final Batch batch = new Batch(elementType, elements, bb, start, offsets, n);
+        final Batch.Slice all = batch.new Slice(0, n, Math.max(1, n / (pool.getParallelism() << 2)));
+        if(ForkJoinTask.getPool() == pool) {
+            all.invoke();
+        } else {
+            pool.invoke(all);
+        }
+        int pos = bb.position();
+        for (int i = 0; i < n; i++) {
+            final int jump = start + offsets[i];
+            if(jump < pos) {
+                throw new IllegalArgumentException("illegal backwards jump: (" + start + "+" + offsets[i] + "=" + jump + ")<" + pos);
+            }
+            if(batch.errors[i] != null) {
+                throw batch.errors[i];
+            }
+            pos = batch.ends[i];
+        }
+        if(offsetErr != null) {
+            throw offsetErr;
+        }
+        bb.position(pos);
+        return true;
+    }
+
+    /* every dynamic element consumes at least one word, so under the forward-jump rule its offset must exceed the last */
+    private static boolean ascending(int[] offsets, int n, int start, int headEnd) {
+        if(n > 0 && start + offsets[0] < headEnd) {
+            return false;
+        }
+        for (int i = 1; i < n; i++) {
+            if(offsets[i] <= offsets[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class Batch {
+
+        final ABIType<?> elementType;
+        final Object[] elements;
+        final ByteBuffer bb;
+        final int start;
+        final int[] offsets;
+        final int[] ends;
+        final RuntimeException[] errors;
+
+        Batch(ABIType<?> elementType, Object[] elements, ByteBuffer bb, int start, int[] offsets, int n) {
+            this.elementType = elementType;
+            this.elements = elements;
+            this.bb = bb;
+            this.start = start;
+            this.offsets = offsets;
+            this.ends = new int[n];
+            this.errors = new RuntimeException[n];
+        }
+
+        private final class Slice extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+            private final int grain;
+
+            Slice(int from, int to, int grain) {
+                this.from = from;
+                this.to = to;
+                this.grain = grain;
+            }
+
+            @Override
+            protected void compute() {
+                if(to - from > grain) {
+                    final int mid = (from + to) >>> 1;
+                    invokeAll(new Slice(from, mid, grain), new Slice(mid, to, grain));
+                    return;
+                }
+                final ByteBuffer view = bb.duplicate().order(bb.order());
+                final byte[] unitBuffer = ABIType.newUnitBuffer();
+                for (int i = from; i < to; i++) {
+                    try {
+                        view.position(start + offsets[i]);
+                        elements[i] = elementType.decode(view, unitBuffer, ForkJoinDecoder.this);
+                        ends[i] = view.position();
+                    } catch (RuntimeException re) {
+                        errors[i] = re;
+                    }
+                }
+            }
+        }
+    }
+}
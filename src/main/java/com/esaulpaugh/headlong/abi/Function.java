@@ -20,11 +20,14 @@ import com.esaulpaugh.headlong.abi.util.JsonUtils;
 import com.esaulpaugh.headlong.util.Strings;
 import com.google.gson.JsonObject;
 import com.joemelsha.crypto.hash.Keccak;
+import com.joemelsha.crypto.hash.Keccak256;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.security.DigestException;
 import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.IntFunction;
 import java.util.regex.Matcher;
@@ -74,7 +77,7 @@ public final class Function implements ABIObject {
                 TupleType.parse(signature.substring(nameLength)),
                 outputs,
                 null,
-                Function.newDefaultDigest()
+                null
         );
     }
 
@@ -84,7 +87,7 @@ public final class Function implements ABIObject {
      * @param inputs        {@link TupleType} describing this function's input parameters
      * @param outputs       {@link TupleType} type describing this function's return types
      * @param stateMutability   "pure", "view", "payable" etc.
-     * @param messageDigest hash function with which to generate the 4-byte selector
+     * @param messageDigest hash function with which to generate the 4-byte selector, or {@code null} for Keccak-256
      * @throws IllegalArgumentException if {@code signature} or {@code outputs} is malformed
      */
     public Function(TypeEnum type, String name, TupleType inputs, TupleType outputs, String stateMutability, MessageDigest messageDigest) {
@@ -93,7 +96,7 @@ public final class Function implements ABIObject {
         this.inputTypes = Objects.requireNonNull(inputs);
         this.outputTypes = Objects.requireNonNull(outputs);
         this.stateMutability = stateMutability;
-        this.hashAlgorithm = Objects.requireNonNull(messageDigest.getAlgorithm());
+        this.hashAlgorithm = messageDigest == null ? Keccak256.ALGORITHM : Objects.requireNonNull(messageDigest.getAlgorithm());
         validateFunction();
         generateSelector(messageDigest);
     }
@@ -179,8 +182,13 @@ public final class Function implements ABIObject {
     }
 
     private void generateSelector(MessageDigest messageDigest) {
+        final byte[] signature = Strings.decode(getCanonicalSignature(), Strings.ASCII);
+        if(messageDigest == null || messageDigest instanceof Keccak && messageDigest.getDigestLength() == Keccak256.DIGEST_LEN) {
+            Keccak256.hash(signature, 0, signature.length, selector, 0, SELECTOR_LEN);
+            return;
+        }
         messageDigest.reset();
-        messageDigest.update(Strings.decode(getCanonicalSignature(), Strings.ASCII));
+        messageDigest.update(signature);
         try {
             messageDigest.digest(selector, 0, SELECTOR_LEN);
         } catch (DigestException de) {
@@ -201,20 +209,90 @@ public final class Function implements ABIObject {
     }
 
     public ByteBuffer encodeCall(Tuple args) {
-        ByteBuffer dest = ByteBuffer.allocate(validatedCallLength(args)); // ByteOrder.BIG_ENDIAN by default
+        final ByteLengths lengths = new ByteLengths();
+        ByteBuffer dest = ByteBuffer.allocate(Function.SELECTOR_LEN + inputTypes.validate(args, lengths)); // ByteOrder.BIG_ENDIAN by default
         dest.put(selector);
-        inputTypes.encodeTail(args, dest);
+        inputTypes.encodeTail(args, dest, lengths);
         dest.flip();
         return dest;
     }
 
     public Function encodeCall(Tuple args, ByteBuffer dest) {
-        inputTypes.validate(args);
+        final ByteLengths lengths = new ByteLengths();
+        inputTypes.validate(args, lengths);
         dest.put(selector);
-        inputTypes.encodeTail(args, dest);
+        inputTypes.encodeTail(args, dest, lengths);
         return this;
     }
 
+    /**
+     * Encodes a batch of calls to this function into a single newly allocated buffer. All arguments are validated before
+     * anything is encoded.
+     *
+     * @param argsList  the arguments of each call
+     * @return  one buffer per call, each backed by the same array; the position of each is zero and the limit is the
+     *          call's length. Call {@code i} begins at index {@code calls[i].arrayOffset()} of the shared array.
+     * @throws IllegalArgumentException if any of the arguments are invalid
+     */
+    public ByteBuffer[] encodeCalls(List<Tuple> argsList) {
+        final ByteLengths lengths = new ByteLengths();
+        final int[] bounds = validateCalls(argsList, lengths, 0);
+        final ByteBuffer all = ByteBuffer.allocate(bounds[argsList.size()]);
+        encodeValidatedCalls(argsList, all, lengths);
+        final ByteBuffer[] calls = new ByteBuffer[argsList.size()];
+        for (int i = 0; i < calls.length; i++) {
+            all.limit(bounds[i + 1]);
+            all.position(bounds[i]);
+            calls[i] = all.slice();
+        }
+        return calls;
+    }
+
+    /**
+     * Encodes a batch of calls to this function one after another into {@code dest}, which may be a direct buffer,
+     * starting at its current position. All arguments are validated, and the remaining space checked, before anything
+     * is written.
+     *
+     * @param argsList  the arguments of each call
+     * @param dest      the destination buffer
+     * @return  the position in {@code dest} at which each call begins, followed by the position after the last call.
+     *          The length of call {@code i} is {@code bounds[i + 1] - bounds[i]}.
+     * @throws IllegalArgumentException if any of the arguments are invalid
+     * @throws BufferOverflowException  if {@code dest} has insufficient space remaining
+     */
+    public int[] encodeCalls(List<Tuple> argsList, ByteBuffer dest) {
+        final ByteLengths lengths = new ByteLengths();
+        final int[] bounds = validateCalls(argsList, lengths, dest.position());
+        if(bounds[argsList.size()] > dest.limit()) {
+            throw new BufferOverflowException();
+        }
+        encodeValidatedCalls(argsList, dest, lengths);
+        return bounds;
+    }
+
+    /* a single ByteLengths serves the whole batch because the calls are encoded in the order they were validated */
+    private int[] validateCalls(List<Tuple> argsList, ByteLengths lengths, int pos) {
+        final int[] bounds = new int[argsList.size() + 1];
+        bounds[0] = pos;
+        int i = 0;
+        for (Tuple args : argsList) {
+            try {
+                pos = Math.addExact(pos, SELECTOR_LEN + inputTypes.validate(args, lengths));
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("call index " + i + ": " + iae.getMessage(), iae);
+            }
+            bounds[++i] = pos;
+        }
+        return bounds;
+    }
+
+    private void encodeValidatedCalls(List<Tuple> argsList, ByteBuffer dest, ByteLengths lengths) {
+        for (Tuple args : argsList) {
+            dest.put(selector);
+            inputTypes.encodeTail(args, dest, lengths);
+        }
+    }
+
     public Tuple decodeCall(byte[] call) {
         return decodeCall(ByteBuffer.wrap(call));
     }
@@ -260,6 +338,19 @@ public final class Function implements ABIObject {
         return outputTypes.decode(buf, indices);
     }
 
+    /**
+     * Returns a view of the return values which decodes each element on first access and memoizes it. Suited to wide
+     * returns of which only a few elements are needed. Malformed elements are detected only when accessed.
+     * NOTE: This method does not advance the {@link ByteBuffer}'s {@code position}.
+     *
+     * @param buf   the buffer containing the return values, whose contents must not be modified while the view is in use
+     * @return  the lazy {@link Tuple}
+     * @see TupleType#decodeLazy(ByteBuffer)
+     */
+    public Tuple decodeReturnLazy(ByteBuffer buf) {
+        return outputTypes.decodeLazy(buf);
+    }
+
     @SuppressWarnings("unchecked")
     public <J> J decodeSingletonReturn(byte[] singleton) {
         if(outputTypes.elementTypes.length != 1) {
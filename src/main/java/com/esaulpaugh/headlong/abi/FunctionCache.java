@@ -0,0 +1,117 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache of {@link Function}s keyed by signature and outputs, for applications which parse the same
+ * signatures repeatedly. {@link Function}s are immutable and so may be shared freely. Lookups are lock-free; when the
+ * cache is full, the least recently used entries are evicted.
+ */
+public final class FunctionCache {
+
+    private static final class Key {
+
+        final String signature;
+        final String outputs;
+
+        Key(String signature, String outputs) {
+            this.signature = Objects.requireNonNull(signature);
+            this.outputs = outputs;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * signature.hashCode() + Objects.hashCode(outputs);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(o == this) return true;
+            if(!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return other.signature.equals(this.signature) && Objects.equals(other.outputs, this.outputs);
+        }
+    }
+
+    private final BoundedCache<Key, Function> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize   the maximum number of functions to retain
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public FunctionCache(int maxSize) {
+        this.cache = new BoundedCache<>(maxSize);
+    }
+
+    public Function parse(String signature) {
+        return parse(signature, null);
+    }
+
+    /**
+     * Returns the cached {@link Function} for the given signature and outputs, creating and caching it if absent.
+     *
+     * @param signature the function signature, e.g. "transfer(address,uint256)"
+     * @param outputs   the output types, e.g. "(bool)", or null if none
+     * @return  the function
+     * @throws IllegalArgumentException if {@code signature} or {@code outputs} is malformed
+     * @see Function#parse(String, String)
+     */
+    public Function parse(String signature, String outputs) {
+        final Key key = new Key(signature, outputs);
+        final Function cached = cache.get(key);
+        if(cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return cache.putIfAbsent(key, new Function(signature, outputs));
+    }
+
+    public int maxSize() {
+        return cache.capacity();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return cache.evictionCount();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "FunctionCache{size=" + size() + ", maxSize=" + maxSize() + ", hits=" + hitCount()
+                + ", misses=" + missCount() + ", evictions=" + evictionCount() + '}';
+    }
+}
@@ -23,6 +23,15 @@ public final class IntType extends UnitType<Integer> {
         super(canonicalType, Integer.class, bitLength, unsigned);
     }
 
+    private IntType(IntType other, String name) {
+        super(other, name);
+    }
+
+    @Override
+    IntType copy(String name) {
+        return new IntType(this, name);
+    }
+
     @Override
     Class<?> arrayClass() {
         return int[].class;
@@ -35,7 +44,7 @@ public final class IntType extends UnitType<Integer> {
 
     @Override
     Integer decode(ByteBuffer bb, byte[] unitBuffer) {
-        return decodeValid(bb, unitBuffer).intValue();
+        return (int) decodePrimitive(bb);
     }
 
     @Override
@@ -25,6 +25,15 @@ public final class LongType extends UnitType<Long> {
         super(canonicalType, Long.class, bitLength, unsigned);
     }
 
+    private LongType(LongType other, String name) {
+        super(other, name);
+    }
+
+    @Override
+    LongType copy(String name) {
+        return new LongType(this, name);
+    }
+
     @Override
     Class<?> arrayClass() {
         return long[].class;
@@ -37,7 +46,7 @@ public final class LongType extends UnitType<Long> {
 
     @Override
     Long decode(ByteBuffer bb, byte[] unitBuffer) {
-        return decodeValid(bb, unitBuffer).longValue();
+        return decodePrimitive(bb);
     }
 
     @Override
@@ -167,9 +167,7 @@ final class PackedDecoder {
     }
 
     private static int insertAddress(int elementLen, byte[] buffer, int idx, Object[] dest, int destIdx) {
-        byte[] copy = new byte[1 + elementLen];
-        System.arraycopy(buffer, idx, copy, 1, elementLen);
-        dest[destIdx] = new Address(new BigInteger(copy));
+        dest[destIdx] = Address.fromBytes(buffer, idx);
         return elementLen;
     }
 
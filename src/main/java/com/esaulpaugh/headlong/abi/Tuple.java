@@ -15,6 +15,7 @@
 */
 package com.esaulpaugh.headlong.abi;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -34,21 +35,79 @@ public final class Tuple implements Iterable<Object> {
         }
     };
 
+    private static final Object UNDECODED = new Object();
+
+    /* what a lazy tuple needs to decode its remaining elements */
+    private static final class LazyState {
+
+        final TupleType tupleType;
+        final ByteBuffer buffer;
+        final int start;
+        int undecoded;
+
+        LazyState(TupleType tupleType, ByteBuffer buffer, int start, int undecoded) {
+            this.tupleType = tupleType;
+            this.buffer = buffer;
+            this.start = start;
+            this.undecoded = undecoded;
+        }
+    }
+
     final Object[] elements;
 
+    /* null unless lazy; cleared, under the lock, once every element is decoded, which publishes the decoded elements */
+    private volatile LazyState lazy;
+
     public Tuple(Object... elements) {
         this.elements = Arrays.copyOf(elements, elements.length); // shallow copy
     }
 
+    /**
+     * Creates a lazy tuple which decodes each element from the buffer on first access.
+     *
+     * @param tupleType the type of the encoded tuple
+     * @param buffer    a buffer private to this tuple
+     * @param start     the index in the buffer at which the encoded tuple begins
+     */
+    Tuple(TupleType tupleType, ByteBuffer buffer, int start) {
+        this.elements = new Object[tupleType.size()];
+        Arrays.fill(elements, UNDECODED);
+        this.lazy = new LazyState(tupleType, buffer, start, elements.length);
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T get(int index) {
-        Object val = elements[index];
+        Object val = lazy == null ? elements[index] : getLazily(index);
         if(val == ABSENT) {
             throw new NoSuchElementException("not present because index was not specified for decoding: " + index);
         }
         return (T) val;
     }
 
+    private synchronized Object getLazily(int index) {
+        Object val = elements[index];
+        if(val == UNDECODED) {
+            final LazyState l = lazy;
+            val = elements[index] = l.tupleType.decodeElement(l.buffer, l.start, index);
+            if(--l.undecoded == 0) {
+                lazy = null;
+            }
+        }
+        return val;
+    }
+
+    /**
+     * Returns the backing array, first decoding all remaining elements if this tuple is lazy.
+     */
+    final Object[] elements() {
+        if(lazy != null) {
+            for (int i = 0; i < elements.length; i++) {
+                getLazily(i);
+            }
+        }
+        return elements;
+    }
+
     public int size() {
         return elements.length;
     }
@@ -59,21 +118,21 @@ public final class Tuple implements Iterable<Object> {
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(elements);
+        return Arrays.deepHashCode(elements());
     }
 
     @Override
     public boolean equals(Object o) {
-        return o == this || (o instanceof Tuple && Arrays.deepEquals(((Tuple) o).elements, this.elements));
+        return o == this || (o instanceof Tuple && Arrays.deepEquals(((Tuple) o).elements(), this.elements()));
     }
 
     @Override
     public String toString() {
-        return Arrays.deepToString(elements);
+        return Arrays.deepToString(elements());
     }
 
     public Tuple subtuple(int startIndex, int endIndex) {
-        return new Tuple(Arrays.copyOfRange(elements, startIndex, endIndex));
+        return new Tuple(Arrays.copyOfRange(elements(), startIndex, endIndex));
     }
 
     public static Tuple of(Object... elements) {
@@ -86,6 +145,6 @@ public final class Tuple implements Iterable<Object> {
 
     @Override
     public Iterator<Object> iterator() {
-        return Arrays.asList(elements).iterator();
+        return Arrays.asList(elements()).iterator();
     }
 }
@@ -17,12 +17,12 @@ package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.util.SuperSerial;
 
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.function.IntFunction;
 import java.util.function.IntUnaryOperator;
 
 import static com.esaulpaugh.headlong.abi.Encoding.OFFSET_LENGTH_BYTES;
@@ -38,11 +38,46 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
 
     final ABIType<?>[] elementTypes;
     private final int headLength;
+    /* the encoding layout, computed once so that encode and decode need not recompute it per call */
+    private final int[] elementHeadOffsets; // the position of each element's head relative to the start of the tuple
+    final int firstOffset; // the combined length of the element heads, i.e. the offset of the first tail
+    private final int[] dynamicIndices; // the indices of the elements which are encoded in the tail
 
     private TupleType(String canonicalType, boolean dynamic, ABIType<?>[] elementTypes) {
         super(canonicalType, Tuple.class, dynamic);
         this.elementTypes = elementTypes;
         this.headLength = dynamic ? OFFSET_LENGTH_BYTES : staticTupleHeadLength(this);
+        this.elementHeadOffsets = new int[elementTypes.length];
+        int offset = 0;
+        int dynamicCount = 0;
+        for (int i = 0; i < elementTypes.length; i++) {
+            elementHeadOffsets[i] = offset;
+            offset += elementTypes[i].headLength();
+            if(elementTypes[i].dynamic) {
+                dynamicCount++;
+            }
+        }
+        this.firstOffset = offset;
+        this.dynamicIndices = new int[dynamicCount];
+        for (int i = 0, d = 0; d < dynamicCount; i++) {
+            if(elementTypes[i].dynamic) {
+                dynamicIndices[d++] = i;
+            }
+        }
+    }
+
+    private TupleType(TupleType other, String name) {
+        super(other, name);
+        this.elementTypes = other.elementTypes;
+        this.headLength = other.headLength;
+        this.elementHeadOffsets = other.elementHeadOffsets;
+        this.firstOffset = other.firstOffset;
+        this.dynamicIndices = other.dynamicIndices;
+    }
+
+    @Override
+    TupleType copy(String name) {
+        return new TupleType(this, name);
     }
 
     static TupleType wrap(ABIType<?>... elements) {
@@ -85,14 +120,14 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
 
     @Override
     int dynamicByteLength(Object value) {
-        final Object[] elements = ((Tuple) value).elements;
+        final Object[] elements = ((Tuple) value).elements();
         return countBytes(i -> measureObject(get(i), elements[i]));
     }
 
     @Override
     int byteLength(Object value) {
         if(!dynamic) return headLength;
-        final Object[] elements = ((Tuple) value).elements;
+        final Object[] elements = ((Tuple) value).elements();
         return countBytes(i -> measureObject(get(i), elements[i]));
     }
 
@@ -106,7 +141,7 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
      */
     @Override
     public int byteLengthPacked(Object value) {
-        final Object[] elements = value != null ? ((Tuple) value).elements : new Object[size()];
+        final Object[] elements = value != null ? ((Tuple) value).elements() : new Object[size()];
         return countBytes(i -> get(i).byteLengthPacked(elements[i]));
     }
 
@@ -128,10 +163,14 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
 
     @Override
     public int validate(final Tuple value) {
-        if (value.size() == this.size()) {
-            return countBytes(i -> validateObject(get(i), value.elements[i]));
+        checkSize(value);
+        return countBytes(i -> validateObject(get(i), value.elements()[i]));
+    }
+
+    private void checkSize(Tuple value) {
+        if (value.size() != this.size()) {
+            throw new IllegalArgumentException("tuple length mismatch: actual != expected: " + value.size() + " != " + this.size());
         }
-        throw new IllegalArgumentException("tuple length mismatch: actual != expected: " + value.size() + " != " + this.size());
     }
 
     private static int validateObject(ABIType<?> type, Object value) {
@@ -142,53 +181,142 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
         }
     }
 
+    @Override
+    int validate(Object value, ByteLengths lengths) {
+        final Tuple tuple = validateClass(value);
+        checkSize(tuple);
+        final int base = lengths.reserve(dynamicIndices.length);
+        int len = 0;
+        int i = 0;
+        try {
+            for (int d = 0; i < elementTypes.length; i++) {
+                final ABIType<?> t = elementTypes[i];
+                final int byteLen = validateObject(t, tuple.elements()[i], lengths);
+                if(t.dynamic) {
+                    lengths.set(base + d++, byteLen);
+                    len += OFFSET_LENGTH_BYTES + byteLen;
+                } else {
+                    len += byteLen;
+                }
+            }
+            return len;
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalArgumentException("tuple index " + i + ": " + iae.getMessage(), iae);
+        }
+    }
+
+    private static int validateObject(ABIType<?> type, Object value, ByteLengths lengths) {
+        try {
+            return type.validate(value, lengths);
+        } catch (NullPointerException npe) {
+            throw new IllegalArgumentException("null", npe);
+        }
+    }
+
     static int totalLen(int byteLen, boolean addUnit) {
         return addUnit ? UNIT_LENGTH_BYTES + byteLen : byteLen;
     }
 
     @Override
     void encodeTail(Object value, ByteBuffer dest) {
-        Object[] vals = ((Tuple) value).elements;
-        encodeObjects(dynamic, vals, TupleType.this::get, dest, dynamic ? headLength(vals) : -1);
+        final Object[] values = ((Tuple) value).elements();
+        if(!dynamic) {
+            for (int i = 0; i < values.length; i++) {
+                elementTypes[i].encodeTail(values[i], dest);
+            }
+            return;
+        }
+        int offset = firstOffset;
+        for (int i = 0; i < values.length; i++) {
+            offset = elementTypes[i].encodeHead(values[i], dest, offset);
+        }
+        for (final int i : dynamicIndices) {
+            elementTypes[i].encodeTail(values[i], dest);
+        }
     }
 
-    private int headLength(Object[] elements) {
-        int sum = 0;
-        for (int i = 0; i < elements.length; i++) {
-            sum += get(i).headLength();
+    @Override
+    void encodeTail(Object value, ByteBuffer dest, ByteLengths lengths) {
+        if(!dynamic) {
+            encodeTail(value, dest);
+            return;
+        }
+        final Object[] values = ((Tuple) value).elements();
+        final int base = lengths.take(dynamicIndices.length);
+        int offset = firstOffset;
+        for (int i = 0, d = 0; i < values.length; i++) {
+            final ABIType<?> t = elementTypes[i];
+            if(!t.dynamic) {
+                t.encodeTail(values[i], dest);
+            } else {
+                Encoding.insertIntUnsigned(offset, dest);
+                offset += lengths.get(base + d++);
+            }
+        }
+        for (final int i : dynamicIndices) {
+            elementTypes[i].encodeTail(values[i], dest, lengths);
         }
-        return sum;
     }
 
     @Override
     void encodePackedUnchecked(Tuple value, ByteBuffer dest) {
         final int size = size();
         for (int i = 0; i < size; i++) {
-            get(i).encodeObjectPackedUnchecked(value.elements[i], dest);
+            get(i).encodeObjectPackedUnchecked(value.elements()[i], dest);
         }
     }
 
-    static void encodeObjects(boolean dynamic, Object[] values, IntFunction<ABIType<?>> getType, ByteBuffer dest, int offset) {
-        for (int i = 0; i < values.length; i++) {
-            offset = getType.apply(i).encodeHead(values[i], dest, offset);
-        }
-        if(dynamic) {
-            for (int i = 0; i < values.length; i++) {
-                ABIType<?> t = getType.apply(i);
-                if (t.dynamic) {
-                    t.encodeTail(values[i], dest);
-                }
-            }
-        }
+    @Override
+    Tuple decode(ByteBuffer bb, byte[] unitBuffer) {
+        return decode(bb, unitBuffer, null);
     }
 
     @Override
-    Tuple decode(ByteBuffer bb, byte[] unitBuffer) {
-        Object[] elements = new Object[size()];
-        decodeObjects(bb, unitBuffer, TupleType.this::get, elements);
+    Tuple decode(ByteBuffer bb, byte[] unitBuffer, ForkJoinDecoder forkJoin) {
+        final Object[] elements = new Object[elementTypes.length];
+        final int start = bb.position(); // save this value before offsets are decoded
+        for (int i = 0; i < elements.length; i++) {
+            final ABIType<?> t = elementTypes[i];
+            if(!t.dynamic) {
+                elements[i] = t.decode(bb, unitBuffer);
+            } else {
+                skipHead(bb, OFFSET_LENGTH_BYTES); // offsets are read in the second pass
+            }
+        }
+        for (final int i : dynamicIndices) {
+            jumpToTail(bb, start, start + elementHeadOffsets[i]);
+            elements[i] = elementTypes[i].decode(bb, unitBuffer, forkJoin);
+        }
         return new Tuple(elements);
     }
 
+    static void skipHead(ByteBuffer bb, int len) {
+        if(bb.remaining() < len) {
+            throw new BufferUnderflowException();
+        }
+        bb.position(bb.position() + len);
+    }
+
+    /**
+     * Reads the offset at {@code offsetIdx} and moves the buffer's position to the tail it points to.
+     *
+     * @param bb        the buffer
+     * @param start     the position of the beginning of the enclosing tuple or array
+     * @param offsetIdx the absolute index of the offset
+     */
+    static void jumpToTail(ByteBuffer bb, int start, int offsetIdx) {
+        final int offset = (int) UINT31.decodeWord(bb, offsetIdx);
+        final int jump = start + offset;
+        final int pos = bb.position();
+        if(jump != pos) {
+            /* LENIENT MODE; see https://github.com/ethereum/solidity/commit/3d1ca07e9b4b42355aa9be5db5c00048607986d1 */
+            if(jump < pos) {
+                throw new IllegalArgumentException("illegal backwards jump: (" + start + "+" + offset + "=" + jump + ")<" + pos);
+            }
+            bb.position(jump); // leniently jump to specified offset
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T decode(ByteBuffer bb, int... indices) {
         bb.mark();
@@ -214,28 +342,43 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
         }
     }
 
+    @SuppressWarnings("unchecked")
     private <T> T decodeIndex(ByteBuffer bb, int index) {
         ensureIndexInBounds(index);
-        int skipBytes = 0;
-        for (int j = 0; j < index; j++) {
-            skipBytes += elementTypes[j].headLength();
-        }
-        final int pos = bb.position();
-        bb.position(pos + skipBytes);
-        @SuppressWarnings("unchecked")
-        final ABIType<T> resultType = (ABIType<T>) elementTypes[index];
+        return (T) decodeElement(bb, bb.position(), index);
+    }
+
+    /**
+     * Decodes the element at the given index of the tuple encoded at {@code start}, leaving the buffer's position at
+     * the end of the element.
+     */
+    Object decodeElement(ByteBuffer bb, int start, int index) {
+        bb.position(start + elementHeadOffsets[index]);
+        final ABIType<?> resultType = elementTypes[index];
         final byte[] unitBuffer = newUnitBuffer();
         if (resultType.dynamic) {
-            bb.position(pos + UINT31.decode(bb, unitBuffer));
+            bb.position(start + (int) UINT31.decodePrimitive(bb));
         }
         return resultType.decode(bb, unitBuffer);
     }
 
+    /**
+     * Returns a {@link Tuple} whose elements are decoded from the buffer on first access rather than immediately.
+     * Elements are decoded as by {@link #decode(ByteBuffer, int...)}. Does not advance the buffer's position.
+     *
+     * @param bb    the buffer containing the encoded tuple at its current position, whose contents must not be modified
+     *              until every needed element has been accessed
+     * @return  the lazy tuple
+     */
+    public Tuple decodeLazy(ByteBuffer bb) {
+        return new Tuple(this, bb.duplicate().order(bb.order()), bb.position());
+    }
+
     private Tuple decodeIndices(ByteBuffer bb, int... indices) {
         final Object[] results = new Object[elementTypes.length];
         final int pos = bb.position();
         final byte[] unitBuffer = newUnitBuffer();
-        int i = 0, j = 0, index, skipBytes = 0, prevIndex = -1;
+        int i = 0, j = 0, index, prevIndex = -1;
         do {
             index = indices[i++];
             ensureIndexInBounds(index);
@@ -244,15 +387,13 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
             }
             for (; j < index; j++) {
                 results[j] = Tuple.ABSENT;
-                skipBytes += elementTypes[j].headLength();
             }
-            bb.position(pos + skipBytes);
+            bb.position(pos + elementHeadOffsets[index]);
             final ABIType<?> resultType = elementTypes[j++];
             if (resultType.dynamic) {
-                bb.position(pos + UINT31.decode(bb, unitBuffer));
+                bb.position(pos + (int) UINT31.decodePrimitive(bb));
             }
             results[index] = resultType.decode(bb, unitBuffer);
-            skipBytes += resultType.headLength();
             prevIndex = index;
         } while (i < indices.length);
         for (; j < elementTypes.length; j++) {
@@ -273,34 +414,6 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
         return len;
     }
 
-    static void decodeObjects(ByteBuffer bb, byte[] unitBuffer, IntFunction<ABIType<?>> getType, Object[] objects) {
-        final int start = bb.position(); // save this value before offsets are decoded
-        final int[] offsets = new int[objects.length];
-        for(int i = 0; i < objects.length; i++) {
-            ABIType<?> t = getType.apply(i);
-            if(!t.dynamic) {
-                objects[i] = t.decode(bb, unitBuffer);
-            } else {
-                offsets[i] = UINT31.decode(bb, unitBuffer);
-            }
-        }
-        for (int i = 0; i < objects.length; i++) {
-            final int offset = offsets[i];
-            if(offset > 0) {
-                final int jump = start + offset;
-                final int pos = bb.position();
-                if(jump != pos) {
-                    /* LENIENT MODE; see https://github.com/ethereum/solidity/commit/3d1ca07e9b4b42355aa9be5db5c00048607986d1 */
-                    if(jump < pos) {
-                        throw new IllegalArgumentException("illegal backwards jump: (" + start + "+" + offset + "=" + jump + ")<" + pos);
-                    }
-                    bb.position(jump); // leniently jump to specified offset
-                }
-                objects[i] = getType.apply(i).decode(bb, unitBuffer);
-            }
-        }
-    }
-
     /**
      * Parses RLP Object {@link com.esaulpaugh.headlong.rlp.util.Notation} as a {@link Tuple}.
      *
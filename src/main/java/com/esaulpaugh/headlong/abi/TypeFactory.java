@@ -28,7 +28,11 @@ import static com.esaulpaugh.headlong.abi.ArrayType.DYNAMIC_LENGTH;
 import static com.esaulpaugh.headlong.abi.ArrayType.STRING_ARRAY_CLASS;
 import static com.esaulpaugh.headlong.abi.ArrayType.STRING_CLASS;
 
-/** Creates the appropriate {@link ABIType} object for a given type string. */
+/**
+ * Creates the appropriate {@link ABIType} object for a given type string. Nameless instances are immutable and are
+ * interned in a bounded cache keyed by type string, so that parsing a recently seen type returns the same instance
+ * without parsing it again. Named instances are shallow copies of the interned ones.
+ */
 public final class TypeFactory {
 
     private TypeFactory() {}
@@ -43,6 +47,11 @@ public final class TypeFactory {
 
     private static final int FUNCTION_BYTE_LEN = 24;
 
+    static final int CACHE_CAPACITY = 4096;
+
+    /* maps both raw and canonical type strings to interned nameless instances */
+    static final BoundedCache<String, ABIType<?>> CACHE = new BoundedCache<>(CACHE_CAPACITY);
+
     static final Map<String, Supplier<ABIType<?>>> SUPPLIER_MAP;
 
     static {
@@ -101,8 +110,20 @@ public final class TypeFactory {
 
     @SuppressWarnings("unchecked")
     public static <T extends ABIType<?>> T create(String rawType, String name) {
-        return (T) build(rawType, null)
-                .setName(name);
+        return (T) intern(rawType)
+                .withName(name);
+    }
+
+    static ABIType<?> intern(final String rawType) {
+        ABIType<?> type = CACHE.get(rawType);
+        if(type == null) {
+            final ABIType<?> built = build(rawType, null);
+            type = CACHE.putIfAbsent(built.canonicalType, built);
+            if(!rawType.equals(type.canonicalType)) {
+                CACHE.putIfAbsent(rawType, type);
+            }
+        }
+        return type;
     }
 
     static ABIType<?> build(final String rawType, ABIType<?> baseType) {
@@ -113,7 +134,8 @@ public final class TypeFactory {
                 final int secondToLastCharIdx = lastCharIdx - 1;
                 final int arrayOpenIndex = rawType.lastIndexOf('[', secondToLastCharIdx);
 
-                final ABIType<?> elementType = build(rawType.substring(0, arrayOpenIndex), baseType);
+                final String elementRawType = rawType.substring(0, arrayOpenIndex);
+                final ABIType<?> elementType = baseType != null ? build(elementRawType, baseType) : intern(elementRawType); // arrays of named tuples are not interned
                 final String type = elementType.canonicalType + rawType.substring(arrayOpenIndex);
                 final int length = arrayOpenIndex == secondToLastCharIdx ? DYNAMIC_LENGTH : parseLen(rawType.substring(arrayOpenIndex + 1, lastCharIdx));
                 return new ArrayType<>(type, elementType.arrayClass(), elementType, length, null);
@@ -189,7 +211,7 @@ public final class TypeFactory {
                     throw new IllegalArgumentException("empty parameter");
                 } else if(c != ')') {
                     argEnd = findArgEnd(rawTypeStr, argStart, c);
-                    elements.add(build(rawTypeStr.substring(argStart, argEnd), null));
+                    elements.add(intern(rawTypeStr.substring(argStart, argEnd)));
                     terminator = rawTypeStr.charAt(argEnd);
                 }
                 if(terminator == ')') {
@@ -18,7 +18,9 @@ package com.esaulpaugh.headlong.abi;
 import com.esaulpaugh.headlong.util.Integers;
 
 import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /** Superclass for any 256-bit ("unit") Contract ABI type. Usually numbers or boolean. Not for arrays or tuples. */
 public abstract class UnitType<J> extends ABIType<J> { // J generally extends Number or is Boolean
@@ -34,6 +36,12 @@ public abstract class UnitType<J> extends ABIType<J> { // J generally extends Nu
         this.unsigned = unsigned;
     }
 
+    UnitType(UnitType<J> other, String name) {
+        super(other, name);
+        this.bitLength = other.bitLength;
+        this.unsigned = other.unsigned;
+    }
+
     public final int getBitLength() {
         return bitLength;
     }
@@ -107,15 +115,111 @@ public abstract class UnitType<J> extends ABIType<J> { // J generally extends Nu
         }
     }
 
+    /**
+     * Validates the 32-byte word at absolute index {@code idx} without allocating and without moving the buffer's
+     * position. The value is interpreted as signed or unsigned according to this type and must not exceed its bit limit.
+     *
+     * @param bb    the buffer containing the word
+     * @param idx   the absolute index of the word's first byte
+     * @return  the low-order 64 bits of the word
+     * @throws BufferUnderflowException if fewer than {@link #UNIT_LENGTH_BYTES} bytes remain before the buffer's limit
+     */
+    final long decodeWord(ByteBuffer bb, int idx) {
+        checkWord(bb, idx);
+        return getLongBigEndian(bb, idx + Long.BYTES * 3);
+    }
+
+    /**
+     * Like {@link #decodeWord(ByteBuffer, int)} but reads at the buffer's position and advances it. For types of at most
+     * 64 bits, the returned value is the decoded value.
+     */
+    final long decodePrimitive(ByteBuffer bb) {
+        final int idx = bb.position();
+        final long val = decodeWord(bb, idx);
+        bb.position(idx + UNIT_LENGTH_BYTES);
+        return val;
+    }
+
+    /**
+     * Decodes the value at the buffer's current position into four 64-bit limbs, most significant first, without
+     * allocating. Signed values are given in two's complement. Advances the buffer's position.
+     *
+     * @param bb    the buffer containing the encoded value
+     * @param limbs the destination, of length at least four
+     * @throws IllegalArgumentException if the value exceeds this type's bit limit
+     */
+    public final void decodeLimbs(ByteBuffer bb, long[] limbs) {
+        final int idx = bb.position();
+        decodeLimbs(bb, idx, limbs);
+        bb.position(idx + UNIT_LENGTH_BYTES);
+    }
+
+    /**
+     * Like {@link #decodeLimbs(ByteBuffer, long[])} but reads at an absolute index, e.g. one given to
+     * {@link ABIVisitor#onWord(UnitType, ByteBuffer, int)}, and does not move the buffer's position.
+     */
+    public final void decodeLimbs(ByteBuffer bb, int idx, long[] limbs) {
+        checkWord(bb, idx);
+        for (int i = 0; i < 4; i++) {
+            limbs[i] = getLongBigEndian(bb, idx + Long.BYTES * i);
+        }
+    }
+
+    /**
+     * Encodes the value given as four 64-bit limbs, most significant first, in the layout produced by
+     * {@link #decodeLimbs(ByteBuffer, long[])}. Does not allocate.
+     *
+     * @param limbs the value, in two's complement if this type is signed
+     * @param dest  the destination buffer
+     * @throws IllegalArgumentException if the value exceeds this type's bit limit
+     */
+    public final void encodeLimbs(long[] limbs, ByteBuffer dest) {
+        checkLimbs(limbs[0], limbs[1], limbs[2], limbs[3]);
+        for (int i = 0; i < 4; i++) {
+            dest.putLong(dest.order() == ByteOrder.BIG_ENDIAN ? limbs[i] : Long.reverseBytes(limbs[i]));
+        }
+    }
+
+    /* checks the bounds and bit length of the word at idx and returns its bit length */
+    private int checkWord(ByteBuffer bb, int idx) {
+        if(idx < 0 || idx > bb.limit() - UNIT_LENGTH_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        final long w0 = getLongBigEndian(bb, idx);
+        final long w1 = getLongBigEndian(bb, idx + Long.BYTES);
+        final long w2 = getLongBigEndian(bb, idx + Long.BYTES * 2);
+        final long w3 = getLongBigEndian(bb, idx + Long.BYTES * 3);
+        return checkLimbs(w0, w1, w2, w3);
+    }
+
+    private int checkLimbs(long w0, long w1, long w2, long w3) {
+        final int bitLen = !unsigned && w0 < 0
+                ? bitLen(~w0, ~w1, ~w2, ~w3)
+                : bitLen(w0, w1, w2, w3);
+        checkBitLen(bitLen);
+        return bitLen;
+    }
+
+    static long getLongBigEndian(ByteBuffer bb, int idx) {
+        final long val = bb.getLong(idx);
+        return bb.order() == ByteOrder.BIG_ENDIAN ? val : Long.reverseBytes(val);
+    }
+
+    /* the bit length of the unsigned 256-bit integer composed of the given big-endian longs */
+    private static int bitLen(long w0, long w1, long w2, long w3) {
+        if(w0 != 0) return 4 * Long.SIZE - Long.numberOfLeadingZeros(w0);
+        if(w1 != 0) return 3 * Long.SIZE - Long.numberOfLeadingZeros(w1);
+        if(w2 != 0) return 2 * Long.SIZE - Long.numberOfLeadingZeros(w2);
+        return Long.SIZE - Long.numberOfLeadingZeros(w3);
+    }
+
     final BigInteger decodeValid(ByteBuffer bb, byte[] unitBuffer) {
-        int idx = 0;
-        if(unsigned) {
-            unitBuffer = new byte[1 + UNIT_LENGTH_BYTES]; // a leading zero byte
-            idx = 1;
+        final int idx = bb.position();
+        if(checkWord(bb, idx) < Long.SIZE) { // fits in a long whether signed or unsigned
+            bb.position(idx + UNIT_LENGTH_BYTES);
+            return BigInteger.valueOf(getLongBigEndian(bb, idx + Long.BYTES * 3));
         }
-        bb.get(unitBuffer, idx, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(unitBuffer);
-        validateBigInt(bi);
-        return bi;
+        bb.get(unitBuffer);
+        return unsigned ? new BigInteger(1, unitBuffer) : new BigInteger(unitBuffer);
     }
 }
@@ -0,0 +1,327 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_LIST_SHORT;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_SINGLE_BYTE;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_STRING_SHORT;
+
+/**
+ * Reads a sequence of RLP items, such as a {@code geth export} file, from a {@link FileChannel} which is mapped one
+ * window at a time. Items are parsed in place and never copied; {@link #item()} returns a view of the current item for
+ * decoding its contents. An item which crosses the end of the current window is read from a new window mapped at its
+ * start. An item longer than a window is not mapped at all; its data can instead be read from the channel piece by
+ * piece via {@link #readData(long, ByteBuffer)} or {@link #transferData(WritableByteChannel)}.
+ * <p>
+ * {@link #position()} is the file offset from which reading continues. An import can record it and later resume from
+ * it via {@link RLPDecoder#sequenceReader(FileChannel, long, int)}. An incomplete item at the end of the file ends the
+ * sequence without being consumed, so that reading can resume once the rest of it has been written, unless the file has
+ * been declared {@link #complete()}, in which case the item is rejected.
+ * <p>
+ * Not thread-safe.
+ */
+public final class MappedRLPSequenceReader {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 26; // 64 MiB
+
+    /** The length of the longest prefix: the lead byte and up to eight length bytes. */
+    static final int MAX_PREFIX_LEN = 1 + Long.BYTES;
+
+    private final RLPDecoder decoder;
+    private final FileChannel channel;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+    private long size; // the file size last observed
+
+    private long position;
+    private boolean complete;
+
+    private DataType type;
+    private long offset = -1L;
+    private long dataOffset;
+    private long endOffset;
+
+    MappedRLPSequenceReader(RLPDecoder decoder, FileChannel channel, long position, int windowSize) {
+        if(position < 0) {
+            throw new IllegalArgumentException("position must be non-negative");
+        }
+        if(windowSize < MAX_PREFIX_LEN) {
+            throw new IllegalArgumentException("window size must be at least " + MAX_PREFIX_LEN + ": " + windowSize);
+        }
+        this.decoder = decoder;
+        this.channel = channel;
+        this.windowSize = windowSize;
+        this.position = position;
+    }
+
+    /**
+     * Declares that the file will not grow, so that an incomplete item at its end is rejected by {@link #next()} instead
+     * of ending the sequence.
+     *
+     * @return this reader
+     */
+    public MappedRLPSequenceReader complete() {
+        this.complete = true;
+        return this;
+    }
+
+    /**
+     * Advances to the next item.
+     *
+     * @return true if there is a next item, false if the end of the file or an incomplete item was reached
+     * @throws IOException  if the channel cannot be read or mapped
+     * @throws IllegalArgumentException if the next item's prefix is invalid, if its declared end lies beyond the maximum
+     *                                  file size, or if it is incomplete and the file has been declared complete
+     */
+    public boolean next() throws IOException {
+        final long pos = position;
+        if(pos + MAX_PREFIX_LEN > size) {
+            size = channel.size();
+            if(pos >= size) {
+                return false;
+            }
+        }
+        map(pos, Math.min(pos + MAX_PREFIX_LEN, size));
+        final byte lead = window.get(idx(pos));
+        final DataType type = DataType.type(lead);
+        final long dataOffset;
+        final long dataLength;
+        switch (type.ordinal()) {
+        case ORDINAL_SINGLE_BYTE: dataOffset = pos; dataLength = 1; break;
+        case ORDINAL_STRING_SHORT:
+        case ORDINAL_LIST_SHORT: dataOffset = pos + 1; dataLength = lead - type.offset; break;
+        default:
+            final int lengthLen = lead - type.offset;
+            dataOffset = pos + 1 + lengthLen;
+            if(dataOffset > size) {
+                return incomplete(pos);
+            }
+            dataLength = getLength(pos + 1, lengthLen);
+            if(dataLength < MIN_LONG_DATA_LEN) {
+                throw new IllegalArgumentException("long element data length must be " + MIN_LONG_DATA_LEN
+                        + " or greater; found: " + dataLength + " for element @ " + pos);
+            }
+            if(dataLength > Long.MAX_VALUE - dataOffset) {
+                throw new IllegalArgumentException("element @ " + pos + " declares data length " + dataLength
+                        + " which exceeds the maximum file size");
+            }
+        }
+        if(dataLength > size - dataOffset) {
+            size = channel.size();
+            if(dataLength > size - dataOffset) {
+                return incomplete(pos);
+            }
+        }
+        if(!decoder.lenient && type == DataType.STRING_SHORT && dataLength == 1 && DataType.isSingleByte(window.get(idx(dataOffset)))) {
+            throw new IllegalArgumentException("invalid rlp for single byte @ " + pos);
+        }
+        final long end = dataOffset + dataLength;
+        if(end - pos <= windowSize) {
+            map(pos, end);
+        }
+        this.type = type;
+        this.offset = pos;
+        this.dataOffset = dataOffset;
+        this.endOffset = end;
+        this.position = end;
+        return true;
+    }
+
+    private boolean incomplete(long pos) {
+        if(complete) {
+            throw new ShortInputException("element @ " + pos + " exceeds file size " + size);
+        }
+        return false;
+    }
+
+    private long getLength(long lengthOffset, int lengthLen) {
+        final int idx = idx(lengthOffset);
+        if(!decoder.lenient && window.get(idx) == 0) {
+            throw new IllegalArgumentException("deserialized integers with leading zeroes are invalid; index: " + lengthOffset + ", len: " + lengthLen);
+        }
+        long val = 0L;
+        for (int i = 0; i < lengthLen; i++) {
+            val = val << Byte.SIZE | (window.get(idx + i) & 0xFFL);
+        }
+        return val;
+    }
+
+    /* ensures that the file offsets [from, to) are in the window, given to - from <= windowSize and to <= size */
+    private void map(long from, long to) throws IOException {
+        if(window == null || from < windowStart || to > windowEnd) {
+            final long end = Math.min(size, from + windowSize);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, from, end - from);
+            windowStart = from;
+            windowEnd = end;
+        }
+    }
+
+    private int idx(long fileOffset) {
+        return (int) (fileOffset - windowStart);
+    }
+
+    /**
+     * @return the file offset of the item which the next call to {@link #next()} will read
+     */
+    public long position() {
+        return position;
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    private void requireItem() {
+        if(offset < 0) {
+            throw new IllegalStateException("no current item");
+        }
+    }
+
+    /** @return the current item's type */
+    public DataType type() {
+        requireItem();
+        return type;
+    }
+
+    /** @return the file offset of the current item */
+    public long offset() {
+        requireItem();
+        return offset;
+    }
+
+    /** @return the file offset of the current item's data */
+    public long dataOffset() {
+        requireItem();
+        return dataOffset;
+    }
+
+    public long dataLength() {
+        requireItem();
+        return endOffset - dataOffset;
+    }
+
+    public long encodingLength() {
+        requireItem();
+        return endOffset - offset;
+    }
+
+    /**
+     * @return true if the current item fits in a window, making {@link #encoding()} and {@link #data()} available
+     */
+    public boolean isMapped() {
+        return encodingLength() <= windowSize;
+    }
+
+    /**
+     * Returns a view of the current item in the mapped window. Its indices are relative to the window; {@link #offset()}
+     * is its offset in the file. The view remains valid after the reader advances.
+     *
+     * @return the item
+     * @throws IllegalStateException if the item is longer than a window
+     */
+    public RLPItem item() {
+        requireMapped();
+        return decoder.wrap(window, idx(offset), idx(endOffset));
+    }
+
+    /**
+     * @return a read-only view of the current item's encoding in the mapped window
+     * @throws IllegalStateException if the item is longer than a window
+     */
+    public ByteBuffer encoding() {
+        return view(offset);
+    }
+
+    /**
+     * @return a read-only view of the current item's data in the mapped window
+     * @throws IllegalStateException if the item is longer than a window
+     */
+    public ByteBuffer data() {
+        return view(dataOffset);
+    }
+
+    private void requireMapped() {
+        if(!isMapped()) {
+            throw new IllegalStateException("item exceeds window: " + encodingLength() + " > " + windowSize);
+        }
+    }
+
+    private ByteBuffer view(long from) {
+        requireMapped();
+        final ByteBuffer view = window.duplicate();
+        view.limit(idx(endOffset));
+        view.position(idx(from));
+        return view.slice();
+    }
+
+    /**
+     * Reads part of the current item's data from the channel, whether or not the item is mapped.
+     *
+     * @param dataPosition  the index within the data of the first byte to read
+     * @param dst   the buffer into which bytes are transferred
+     * @return the number of bytes read, or -1 if {@code dataPosition} is the end of the data
+     * @throws IOException  if the channel cannot be read
+     */
+    public int readData(long dataPosition, ByteBuffer dst) throws IOException {
+        final long remaining = dataLength() - dataPosition;
+        if(dataPosition < 0 || remaining < 0) {
+            throw new IndexOutOfBoundsException("dataPosition out of range: " + dataPosition);
+        }
+        if(remaining == 0) {
+            return -1;
+        }
+        final int limit = dst.limit();
+        if(dst.remaining() > remaining) {
+            dst.limit(dst.position() + (int) remaining);
+        }
+        try {
+            return channel.read(dst, dataOffset + dataPosition);
+        } finally {
+            dst.limit(limit);
+        }
+    }
+
+    /**
+     * Transfers the current item's data to {@code target}, without copying it through the Java heap where the platform
+     * allows.
+     *
+     * @param target    the destination
+     * @return the number of bytes transferred, always {@link #dataLength()}
+     * @throws IOException  if the channel cannot be read, the target cannot be written, or no progress can be made
+     */
+    public long transferData(WritableByteChannel target) throws IOException {
+        final long len = dataLength();
+        long done = 0;
+        while (done < len) {
+            final long n = channel.transferTo(dataOffset + done, len - done, target);
+            if(n <= 0) {
+                throw new IOException("transfer stalled after " + done + " of " + len + " bytes @ " + (dataOffset + done));
+            }
+            done += n;
+        }
+        return len;
+    }
+}
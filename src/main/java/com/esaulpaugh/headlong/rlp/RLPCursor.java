@@ -0,0 +1,232 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A flyweight over RLP-encoded data which walks a sequence of items, and the elements of nested lists, while holding
+ * the current item's bounds in primitive fields instead of creating an {@link RLPItem} per item. Prefixes are checked
+ * exactly as by {@link RLPDecoder#wrap(byte[], int)}.
+ * <p>
+ * A cursor starts before the first item of its sequence. {@link #next()} advances to the next item in the current
+ * container; {@link #enterList()} moves to before the first element of the current item, and {@link #exitList()} moves
+ * to after the list which contains the current item. A cursor may be reused for another buffer via
+ * {@link #reset(byte[], int)}.
+ * <p>
+ * Not thread-safe.
+ */
+public final class RLPCursor {
+
+    private final RLPDecoder decoder;
+    private byte[] buffer;
+
+    private int position; // index of the next item
+    private int containerEnd;
+    private int[] containerEnds = new int[8]; // the ends of the enclosing containers
+    private int depth;
+
+    private DataType type;
+    private int index;
+    private int dataIndex;
+    private int endIndex;
+
+    RLPCursor(RLPDecoder decoder, byte[] buffer, int index) {
+        this.decoder = decoder;
+        reset(buffer, index);
+    }
+
+    /**
+     * Moves this cursor to before the first item of the sequence starting at {@code index}.
+     *
+     * @param buffer    the array containing the sequence
+     * @param index the index of the sequence
+     * @return this cursor
+     */
+    public RLPCursor reset(byte[] buffer, int index) {
+        if(index < 0 || index > buffer.length) {
+            throw new IndexOutOfBoundsException("index out of range: " + index);
+        }
+        this.buffer = buffer;
+        this.position = index;
+        this.containerEnd = buffer.length;
+        this.depth = 0;
+        this.index = -1;
+        return this;
+    }
+
+    /** @return true if the current container has an item after the current item */
+    public boolean hasNext() {
+        return position < containerEnd;
+    }
+
+    /**
+     * Advances to the next item in the current container.
+     *
+     * @return false if the current container has no more items
+     * @throws IllegalArgumentException if the next item's prefix is invalid or the item exceeds its container
+     */
+    public boolean next() {
+        final int pos = position;
+        if(pos >= containerEnd) {
+            index = -1;
+            return false;
+        }
+        final byte lead = buffer[pos];
+        final DataType type = DataType.type(lead);
+        final int end = decoder.endIndex(buffer, pos, lead, type, containerEnd);
+        this.type = type;
+        this.index = pos;
+        this.dataIndex = type == DataType.SINGLE_BYTE ? pos : pos + 1 + (type.isLong ? lead - type.offset : 0);
+        this.endIndex = end;
+        this.position = end;
+        return true;
+    }
+
+    /**
+     * Moves to before the first element of the current item, which must be a list.
+     *
+     * @throws IllegalStateException    if the current item is not a list
+     */
+    public void enterList() {
+        if(!isList()) {
+            throw new IllegalStateException("current item is not a list");
+        }
+        if(depth == containerEnds.length) {
+            containerEnds = Arrays.copyOf(containerEnds, depth << 1);
+        }
+        containerEnds[depth++] = containerEnd;
+        containerEnd = endIndex;
+        position = dataIndex;
+        index = -1;
+    }
+
+    /**
+     * Moves to after the list which was last entered, skipping any remaining elements. There is then no current item
+     * until the next call to {@link #next()}.
+     *
+     * @throws IllegalStateException    if no list has been entered
+     */
+    public void exitList() {
+        if(depth == 0) {
+            throw new IllegalStateException("not in a list");
+        }
+        position = containerEnd;
+        containerEnd = containerEnds[--depth];
+        index = -1;
+    }
+
+    /** @return the number of lists entered and not yet exited */
+    public int depth() {
+        return depth;
+    }
+
+    private void requireItem() {
+        if(index < 0) {
+            throw new IllegalStateException("no current item");
+        }
+    }
+
+    public DataType type() {
+        requireItem();
+        return type;
+    }
+
+    public boolean isList() {
+        return !type().isString;
+    }
+
+    public boolean isString() {
+        return type().isString;
+    }
+
+    public int index() {
+        requireItem();
+        return index;
+    }
+
+    public int dataIndex() {
+        requireItem();
+        return dataIndex;
+    }
+
+    public int dataLength() {
+        requireItem();
+        return endIndex - dataIndex;
+    }
+
+    public int endIndex() {
+        requireItem();
+        return endIndex;
+    }
+
+    public int asInt() {
+        return asInt(false);
+    }
+
+    public int asInt(boolean lenient) {
+        return Integers.getInt(buffer, dataIndex(), endIndex - dataIndex, lenient);
+    }
+
+    public long asLong() {
+        return asLong(false);
+    }
+
+    public long asLong(boolean lenient) {
+        return Integers.getLong(buffer, dataIndex(), endIndex - dataIndex, lenient);
+    }
+
+    public BigInteger asBigInt() {
+        return asBigInt(false);
+    }
+
+    public BigInteger asBigInt(boolean lenient) {
+        return Integers.getBigInt(buffer, dataIndex(), endIndex - dataIndex, lenient);
+    }
+
+    /** @see RLPItem#asBoolean() */
+    public boolean asBoolean() {
+        return dataLength() != 0 && buffer[index] != 0x00;
+    }
+
+    /**
+     * @param encoding one of { {@link Strings#HEX}, {@link Strings#UTF_8}, {@link Strings#BASE_64_URL_SAFE}, {@link Strings#ASCII} }.
+     * @return  the current item's data, encoded to your liking
+     */
+    public String asString(int encoding) {
+        return Strings.encode(buffer, dataIndex(), endIndex - dataIndex, encoding);
+    }
+
+    public byte[] data() {
+        return Arrays.copyOfRange(buffer, dataIndex(), endIndex);
+    }
+
+    public int exportData(byte[] dest, int destIndex) {
+        final int len = dataLength();
+        System.arraycopy(buffer, dataIndex, dest, destIndex, len);
+        return destIndex + len;
+    }
+
+    /** @return a new {@link RLPItem} for the current item */
+    public RLPItem item() {
+        requireItem();
+        return decoder.wrap(buffer, index, endIndex);
+    }
+}
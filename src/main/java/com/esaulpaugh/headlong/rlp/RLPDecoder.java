@@ -18,6 +18,8 @@ package com.esaulpaugh.headlong.rlp;
 import com.esaulpaugh.headlong.util.Integers;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -33,7 +35,10 @@ import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_STRING_LONG;
 import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_STRING_SHORT;
 import static com.esaulpaugh.headlong.rlp.DataType.STRING_SHORT_OFFSET;
 
-/** Decodes RLP-formatted data. */
+/**
+ * Decodes RLP-formatted data. Data may be given as an array or as a {@link ByteBuffer}, such as a direct or read-only
+ * buffer read from a channel; items decoded from a buffer are views of it and share its content without copying.
+ */
 public final class RLPDecoder {
 
     public static final RLPDecoder RLP_STRICT = new RLPDecoder(false);
@@ -70,12 +75,81 @@ public final class RLPDecoder {
         return new RLPSequenceIterator.StreamRLPSequenceIterator(is, RLPDecoder.this);
     }
 
+    public MappedRLPSequenceReader sequenceReader(FileChannel channel) {
+        return sequenceReader(channel, 0L, MappedRLPSequenceReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Returns a reader over the sequence of RLP items in the file starting at file offset {@code position}. Unlike
+     * {@link #sequenceIterator(InputStream)}, the reader maps the file instead of copying it onto the heap.
+     *
+     * @param channel   the file
+     * @param position  the file offset of the sequence, e.g. a {@link MappedRLPSequenceReader#position()} recorded earlier
+     * @param windowSize    the maximum number of bytes to map at once
+     * @return  a reader over the items in the file
+     */
+    public MappedRLPSequenceReader sequenceReader(FileChannel channel, long position, int windowSize) {
+        return new MappedRLPSequenceReader(RLPDecoder.this, channel, position, windowSize);
+    }
+
+    public RLPCursor cursor(byte[] buffer) {
+        return cursor(buffer, 0);
+    }
+
+    /**
+     * Returns a cursor over the sequence of RLP items starting at {@code index}. Unlike an iterator, the cursor does
+     * not allocate an object per item.
+     *
+     * @param buffer the array containing the sequence
+     * @param index  the index of the sequence
+     * @return a cursor positioned before the first item in the sequence
+     */
+    public RLPCursor cursor(byte[] buffer, int index) {
+        return new RLPCursor(RLPDecoder.this, buffer, index);
+    }
+
+    /**
+     * Returns a decoder to which a stream of RLP items can be fed in chunks of any size, e.g. as they arrive from a
+     * non-blocking channel. Unlike {@link #sequenceIterator(InputStream)}, it tells a partial item apart from the end of
+     * the stream.
+     *
+     * @param initialCapacity   the initial size of the decoder's buffer
+     * @param maxItemSize   the encoding length of the longest item to accept
+     * @return  the decoder
+     */
+    public RLPStreamDecoder streamDecoder(int initialCapacity, int maxItemSize) {
+        return new RLPStreamDecoder(RLPDecoder.this, initialCapacity, maxItemSize);
+    }
+
     public Stream<RLPItem> stream(byte[] bytes) {
-        return stream(sequenceIterator(bytes));
+        return stream(bytes, 0);
     }
 
+    /**
+     * Returns a stream of the sequence of RLP items starting at {@code index}. The stream may be made
+     * {@link Stream#parallel() parallel}, in which case the sequence is split into ranges of similar length which are
+     * decoded concurrently.
+     *
+     * @param buffer the array containing the sequence
+     * @param index  the index of the sequence
+     * @return a stream of the items in the sequence
+     * @see #spliterator(byte[], int)
+     */
     public Stream<RLPItem> stream(byte[] buffer, int index) {
-        return stream(sequenceIterator(buffer, index));
+        return StreamSupport.stream(spliterator(buffer, index), false);
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the sequence of RLP items starting at {@code index}. On its first split, it
+     * finds where every remaining item starts by reading only the items' prefixes. Items are decoded, and validated,
+     * as they are traversed.
+     *
+     * @param buffer the array containing the sequence
+     * @param index  the index of the sequence
+     * @return a splittable spliterator over the items in the sequence
+     */
+    public Spliterator<RLPItem> spliterator(byte[] buffer, int index) {
+        return new RLPSequenceSpliterator(RLPDecoder.this, buffer, index);
     }
 
     public Stream<RLPItem> stream(InputStream is) {
@@ -102,6 +176,18 @@ public final class RLPDecoder {
         return wrapList(buffer, index).iterator(this);
     }
 
+    /**
+     * Returns an iterator over the elements in the RLP list item at absolute index {@code index} in the buffer.
+     *
+     * @param buffer    the buffer containing the list item
+     * @param index the index of the RLP list item
+     * @return the iterator over the elements in the list
+     * @throws IllegalArgumentException  if the RLP list failed to decode
+     */
+    public Iterator<RLPItem> listIterator(ByteBuffer buffer, int index) {
+        return wrapList(buffer, index).iterator(this);
+    }
+
     public RLPString wrapString(byte[] buffer) {
         return wrapString(buffer, 0);
     }
@@ -139,6 +225,33 @@ public final class RLPDecoder {
         return wrap(buffer, index);
     }
 
+    public RLPString wrapString(ByteBuffer buffer, int index) {
+        final ByteBuffer bb = buffer.duplicate();
+        byte lead = bb.get(index);
+        DataType type = DataType.type(lead);
+        switch (type.ordinal()) {
+        case ORDINAL_SINGLE_BYTE: return newSingleByte(bb, index, bb.limit());
+        case ORDINAL_STRING_SHORT: return newStringShort(bb, index, lead, bb.limit(), lenient);
+        case ORDINAL_STRING_LONG: return newLongItem(lead, type, bb, index, bb.limit(), lenient);
+        default: throw new IllegalArgumentException("item is not a string");
+        }
+    }
+
+    public RLPList wrapList(ByteBuffer buffer, int index) {
+        final ByteBuffer bb = buffer.duplicate();
+        byte lead = bb.get(index);
+        DataType type = DataType.type(lead);
+        switch (type.ordinal()) {
+        case ORDINAL_LIST_SHORT: return newListShort(bb, index, lead, bb.limit());
+        case ORDINAL_LIST_LONG: return newLongItem(lead, type, bb, index, bb.limit(), lenient);
+        default: throw new IllegalArgumentException("item is not a string");
+        }
+    }
+
+    public RLPItem wrapItem(ByteBuffer buffer, int index) {
+        return wrap(buffer, index);
+    }
+
     /**
      * Returns an {@link RLPItem} for a length-one encoding (e.g. 0xc0)
      *
@@ -159,6 +272,38 @@ public final class RLPDecoder {
         return wrap(buffer, index, buffer.length);
     }
 
+    /**
+     * Returns a view of the item at the buffer's position. The buffer's position is not changed; the item's indices,
+     * like those of every item decoded from the buffer, are absolute indices into the buffer.
+     *
+     * @param buffer    the buffer, which may be direct or read-only
+     * @param <T>   the desired return type
+     * @return  the item
+     * @throws IllegalArgumentException if the item fails to decode
+     */
+    public <T extends RLPItem> T wrap(ByteBuffer buffer) {
+        return wrap(buffer, buffer.position());
+    }
+
+    public <T extends RLPItem> T wrap(ByteBuffer buffer, int index) {
+        final ByteBuffer bb = buffer.duplicate(); // shared by the item and its elements, independent of the caller's limit
+        return wrap(bb, index, bb.limit());
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends RLPItem> T wrap(ByteBuffer bb, int index, int containerEnd) {
+        byte lead = bb.get(index);
+        DataType type = DataType.type(lead);
+        switch (type.ordinal()) {
+        case ORDINAL_SINGLE_BYTE: return (T) newSingleByte(bb, index, containerEnd);
+        case ORDINAL_STRING_SHORT: return (T) newStringShort(bb, index, lead, containerEnd, lenient);
+        case ORDINAL_LIST_SHORT: return (T) newListShort(bb, index, lead, containerEnd);
+        case ORDINAL_STRING_LONG:
+        case ORDINAL_LIST_LONG: return newLongItem(lead, type, bb, index, containerEnd, lenient);
+        default: throw new AssertionError();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     <T extends RLPItem> T wrap(byte[] buffer, int index, int containerEnd) {
         byte lead = buffer[index];
@@ -174,49 +319,124 @@ public final class RLPDecoder {
     }
 
     private static RLPString newSingleByte(byte[] buffer, int index, int containerEnd) {
-        final int endIndex = requireInBounds(index + 1L, containerEnd, buffer, index);
-        return new RLPString(buffer, index, index, 1, endIndex);
+        return new RLPString(buffer, index, index, 1, singleByteEnd(index, containerEnd, buffer.length));
     }
 
     private static RLPString newStringShort(byte[] buffer, int index, byte lead, int containerEnd, boolean lenient) {
         final int dataIndex = index + 1;
-        final int dataLength = lead - STRING_SHORT_OFFSET;
-        final int endIndex = requireInBounds((long) dataIndex + dataLength, containerEnd, buffer, index);
-        if (!lenient && dataLength == 1 && DataType.isSingleByte(buffer[dataIndex])) {
-            throw new IllegalArgumentException("invalid rlp for single byte @ " + index);
-        }
-        return new RLPString(buffer, index, dataIndex, dataLength, endIndex);
+        final int endIndex = stringShortEnd(buffer, index, lead, containerEnd, lenient);
+        return new RLPString(buffer, index, dataIndex, endIndex - dataIndex, endIndex);
+    }
+
+    private static int stringShortEnd(byte[] buffer, int index, byte lead, int containerEnd, boolean lenient) {
+        final int endIndex = shortEnd(index, lead - STRING_SHORT_OFFSET, containerEnd, buffer.length);
+        checkStringShort(index, endIndex, buffer[endIndex - 1], lenient);
+        return endIndex;
     }
 
     private static RLPList newListShort(byte[] buffer, int index, byte lead, int containerEnd) {
         final int dataIndex = index + 1;
-        final int dataLength = lead - LIST_SHORT_OFFSET;
-        final int endIndex = requireInBounds((long) dataIndex + dataLength, containerEnd, buffer, index);
-        return new RLPList(buffer, index, dataIndex, dataLength, endIndex);
+        final int endIndex = shortEnd(index, lead - LIST_SHORT_OFFSET, containerEnd, buffer.length);
+        return new RLPList(buffer, index, dataIndex, endIndex - dataIndex, endIndex);
     }
 
     @SuppressWarnings("unchecked")
     private static <T extends RLPItem> T newLongItem(byte lead, DataType type, byte[] buffer, int index, int containerEnd, boolean lenient) {
-        final int diff = lead - type.offset;
-        final int lengthIndex = index + 1;
-        final int dataIndex = requireInBounds((long) lengthIndex + diff, containerEnd, buffer, index);
-        final long dataLength = Integers.getLong(buffer, lengthIndex, diff, lenient);
-        if(dataLength < MIN_LONG_DATA_LEN) {
-            throw new IllegalArgumentException("long element data length must be " + MIN_LONG_DATA_LEN
-                    + " or greater; found: " + dataLength + " for element @ " + index);
-        }
-        final int dataLen = requireInBounds(dataLength, containerEnd, buffer, index);
-        final int endIndex = requireInBounds(dataIndex + dataLength, containerEnd, buffer, index);
+        final int dataIndex = index + 1 + (lead - type.offset);
+        final int endIndex = longEnd(lead, type, buffer, index, containerEnd, lenient);
+        final int dataLen = endIndex - dataIndex;
         return (T) (type.isString
                 ? new RLPString(buffer, index, dataIndex, dataLen, endIndex)
                 : new RLPList(buffer, index, dataIndex, dataLen, endIndex)
         );
     }
 
-    private static int requireInBounds(long val, int containerEnd, byte[] buffer, int index) {
+    private static int longEnd(byte lead, DataType type, byte[] buffer, int index, int containerEnd, boolean lenient) {
+        final int lengthLen = lead - type.offset;
+        final int dataIndex = longDataIndex(index, lengthLen, containerEnd, buffer.length);
+        return longEnd(index, dataIndex, Integers.getLong(buffer, index + 1, lengthLen, lenient), containerEnd, buffer.length);
+    }
+
+    /**
+     * Checks the prefix of the item at {@code index} exactly as {@link #wrap(byte[], int, int)} does, but without
+     * creating an item.
+     *
+     * @return the item's end index
+     */
+    int endIndex(byte[] buffer, int index, byte lead, DataType type, int containerEnd) {
+        switch (type.ordinal()) {
+        case ORDINAL_SINGLE_BYTE: return singleByteEnd(index, containerEnd, buffer.length);
+        case ORDINAL_STRING_SHORT: return stringShortEnd(buffer, index, lead, containerEnd, lenient);
+        case ORDINAL_LIST_SHORT: return shortEnd(index, lead - LIST_SHORT_OFFSET, containerEnd, buffer.length);
+        case ORDINAL_STRING_LONG:
+        case ORDINAL_LIST_LONG: return longEnd(lead, type, buffer, index, containerEnd, lenient);
+        default: throw new AssertionError();
+        }
+    }
+
+    private static RLPString newSingleByte(ByteBuffer bb, int index, int containerEnd) {
+        return new RLPString(bb, index, index, 1, singleByteEnd(index, containerEnd, bb.limit()));
+    }
+
+    private static RLPString newStringShort(ByteBuffer bb, int index, byte lead, int containerEnd, boolean lenient) {
+        final int dataIndex = index + 1;
+        final int endIndex = shortEnd(index, lead - STRING_SHORT_OFFSET, containerEnd, bb.limit());
+        checkStringShort(index, endIndex, bb.get(endIndex - 1), lenient);
+        return new RLPString(bb, index, dataIndex, endIndex - dataIndex, endIndex);
+    }
+
+    private static RLPList newListShort(ByteBuffer bb, int index, byte lead, int containerEnd) {
+        final int dataIndex = index + 1;
+        final int endIndex = shortEnd(index, lead - LIST_SHORT_OFFSET, containerEnd, bb.limit());
+        return new RLPList(bb, index, dataIndex, endIndex - dataIndex, endIndex);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends RLPItem> T newLongItem(byte lead, DataType type, ByteBuffer bb, int index, int containerEnd, boolean lenient) {
+        final int lengthLen = lead - type.offset;
+        final int dataIndex = longDataIndex(index, lengthLen, containerEnd, bb.limit());
+        final int endIndex = longEnd(index, dataIndex, Integers.getLong(bb, index + 1, lengthLen, lenient), containerEnd, bb.limit());
+        final int dataLen = endIndex - dataIndex;
+        return (T) (type.isString
+                ? new RLPString(bb, index, dataIndex, dataLen, endIndex)
+                : new RLPList(bb, index, dataIndex, dataLen, endIndex)
+        );
+    }
+
+    /* the checks below are shared by the byte[] and ByteBuffer paths, which differ only in how they read bytes */
+
+    private static int singleByteEnd(int index, int containerEnd, int bufferEnd) {
+        return requireInBounds(index + 1L, containerEnd, bufferEnd, index);
+    }
+
+    private static int shortEnd(int index, int dataLength, int containerEnd, int bufferEnd) {
+        return requireInBounds(index + 1L + dataLength, containerEnd, bufferEnd, index);
+    }
+
+    /* lastByte is the item's final byte, which for a string of length one is its only data byte */
+    private static void checkStringShort(int index, int endIndex, byte lastByte, boolean lenient) {
+        if (!lenient && endIndex - index == 2 && DataType.isSingleByte(lastByte)) {
+            throw new IllegalArgumentException("invalid rlp for single byte @ " + index);
+        }
+    }
+
+    private static int longDataIndex(int index, int lengthLen, int containerEnd, int bufferEnd) {
+        return requireInBounds(index + 1L + lengthLen, containerEnd, bufferEnd, index);
+    }
+
+    private static int longEnd(int index, int dataIndex, long dataLength, int containerEnd, int bufferEnd) {
+        if(dataLength < MIN_LONG_DATA_LEN) {
+            throw new IllegalArgumentException("long element data length must be " + MIN_LONG_DATA_LEN
+                    + " or greater; found: " + dataLength + " for element @ " + index);
+        }
+        requireInBounds(dataLength, containerEnd, bufferEnd, index);
+        return requireInBounds(dataIndex + dataLength, containerEnd, bufferEnd, index);
+    }
+
+    private static int requireInBounds(long val, int containerEnd, int bufferEnd, int index) {
         if (val > containerEnd) {
             String msg = "element @ index " + index + " exceeds its container: " + val + " > " + containerEnd;
-            throw buffer.length == containerEnd ? new ShortInputException(msg) : new IllegalArgumentException(msg);
+            throw bufferEnd == containerEnd ? new ShortInputException(msg) : new IllegalArgumentException(msg);
         }
         return (int) val;
     }
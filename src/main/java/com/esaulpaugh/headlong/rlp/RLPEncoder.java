@@ -72,7 +72,7 @@ public final class RLPEncoder {
         return arr;
     }
 // ---------------------------------------------------------------------------------------------------------------------
-    private static int requireNoOverflow(long val) {
+    static int requireNoOverflow(long val) {
         if (val <= Integer.MAX_VALUE) {
             return (int) val;
         }
@@ -107,7 +107,7 @@ public final class RLPEncoder {
         throw new IllegalArgumentException("unsupported object type: " + raw.getClass().getName());
     }
 
-    private static int stringEncodedLen(byte[] byteString) {
+    static int stringEncodedLen(byte[] byteString) {
         final int dataLen = byteString.length;
         return itemLen(dataLen == 1 && DataType.isSingleByte(byteString[0]) ? 0 : dataLen);
     }
@@ -132,6 +132,18 @@ public final class RLPEncoder {
         }
     }
 
+    /**
+     * Puts the prefix of a string of the given length, other than one, which needs no prefix if it is a single byte.
+     */
+    static void insertStringPrefix(int dataLen, ByteBuffer bb) {
+        if (isShort(dataLen)) {
+            bb.put((byte) (STRING_SHORT_OFFSET + dataLen)); // dataLen is 0 or 2-55
+        } else { // long string
+            bb.put((byte) (STRING_LONG_OFFSET + Integers.len(dataLen)));
+            Integers.putLong(dataLen, bb);
+        }
+    }
+
     private static void encodeLen1String(byte first, ByteBuffer bb) {
         if (first < 0x00) { // same as (first & 0xFF) >= 0x80
             bb.put((byte) (STRING_SHORT_OFFSET + 1));
@@ -173,17 +185,11 @@ public final class RLPEncoder {
      * @param dest    the destination for the sequence of RLP encodings
      */
     public static void encodeString(byte[] byteString, ByteBuffer dest) {
-        final int dataLen = byteString.length;
-        if (isShort(dataLen)) {
-            if (dataLen == 1) {
-                encodeLen1String(byteString[0], dest);
-                return;
-            }
-            dest.put((byte) (STRING_SHORT_OFFSET + dataLen)); // dataLen is 0 or 2-55
-        } else { // long string
-            dest.put((byte) (STRING_LONG_OFFSET + Integers.len(dataLen)));
-            Integers.putLong(dataLen, dest);
+        if (byteString.length == 1) {
+            encodeLen1String(byteString[0], dest);
+            return;
         }
+        insertStringPrefix(byteString.length, dest);
         dest.put(byteString);
     }
 
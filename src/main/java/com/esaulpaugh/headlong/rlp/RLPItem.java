@@ -23,12 +23,16 @@ import com.esaulpaugh.headlong.util.Strings;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
  * An immutable view of a portion of a (possibly mutable) byte array containing RLP-encoded data, starting at {@code index}
  * (inclusive) and ending at {@code endIndex} (exclusive), representing a single item (either a string or list). Useful
  * when decoding or otherwise manipulating RLP items.
+ * <p>
+ * An item may instead be a view of a {@link ByteBuffer}, which may be direct or read-only, in which case the indices are
+ * absolute indices into the buffer. Such items are not affected by changes to the buffer's position or limit.
  *
  * Created by Evo on 1/19/2017.
  */
@@ -36,7 +40,8 @@ public abstract class RLPItem {
 
     public static final RLPItem[] EMPTY_ARRAY = new RLPItem[0];
 
-    final byte[] buffer;
+    final byte[] buffer; // null if the item is a view of a ByteBuffer
+    final ByteBuffer bb; // null if the item is a view of an array
     public final int index;
 
     public final transient int dataIndex;
@@ -45,14 +50,28 @@ public abstract class RLPItem {
 
     RLPItem(byte[] buffer, int index, int dataIndex, int dataLength, int endIndex) {
         this.buffer = buffer;
+        this.bb = null;
         this.index = index;
         this.dataIndex = dataIndex;
         this.dataLength = dataLength;
         this.endIndex = endIndex;
     }
 
+    RLPItem(ByteBuffer bb, int index, int dataIndex, int dataLength, int endIndex) {
+        this.buffer = null;
+        this.bb = bb;
+        this.index = index;
+        this.dataIndex = dataIndex;
+        this.dataLength = dataLength;
+        this.endIndex = endIndex;
+    }
+
+    final byte get(int i) {
+        return buffer != null ? buffer[i] : bb.get(i);
+    }
+
     public final DataType type() {
-        return DataType.type(buffer[index]);
+        return DataType.type(get(index));
     }
 
     public abstract boolean isString();
@@ -76,26 +95,49 @@ public abstract class RLPItem {
     }
 
     public final byte[] encoding() {
-        return Arrays.copyOfRange(buffer, index, endIndex);
+        return copy(index, endIndex);
     }
 
     public final byte[] data() {
-        return Arrays.copyOfRange(buffer, dataIndex, endIndex);
+        return copy(dataIndex, endIndex);
+    }
+
+    private byte[] copy(int from, int to) {
+        if(buffer != null) {
+            return Arrays.copyOfRange(buffer, from, to);
+        }
+        final byte[] out = new byte[to - from];
+        copy(from, out, 0, out.length);
+        return out;
+    }
+
+    private void copy(int from, byte[] dest, int destIndex, int len) {
+        if(buffer != null) {
+            System.arraycopy(buffer, from, dest, destIndex, len);
+        } else {
+            final ByteBuffer src = bb.duplicate();
+            src.position(from);
+            src.get(dest, destIndex, len);
+        }
     }
 
     public final int export(byte[] dest, int destIndex) {
         int len = encodingLength();
-        System.arraycopy(buffer, index, dest, destIndex, len);
+        copy(index, dest, destIndex, len);
         return destIndex + len;
     }
 
     public final int exportData(byte[] dest, int destIndex) {
-        System.arraycopy(buffer, dataIndex, dest, destIndex, dataLength);
+        copy(dataIndex, dest, destIndex, dataLength);
         return destIndex + dataLength;
     }
 
     public final void exportData(OutputStream os) throws IOException {
-        os.write(buffer, dataIndex, dataLength);
+        if(buffer != null) {
+            os.write(buffer, dataIndex, dataLength);
+        } else {
+            os.write(data());
+        }
     }
 
     /**
@@ -113,7 +155,9 @@ public abstract class RLPItem {
      * @return  this item's payload (data) bytes, encoded to your liking
      */
     public final String asString(int encoding) {
-        return Strings.encode(buffer, dataIndex, dataLength, encoding);
+        return buffer != null
+                ? Strings.encode(buffer, dataIndex, dataLength, encoding)
+                : Strings.encode(data(), encoding);
     }
 
     /**
@@ -123,7 +167,7 @@ public abstract class RLPItem {
      * @return the {@code boolean}
      */
     public final boolean asBoolean() {
-        return dataLength != 0 && buffer[index] != 0x00;
+        return dataLength != 0 && get(index) != 0x00;
     }
 
     /**
@@ -139,31 +183,45 @@ public abstract class RLPItem {
     }
 
     public final byte asByte(boolean lenient) {
-        return Integers.getByte(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getByte(buffer, dataIndex, dataLength, lenient)
+                : Integers.getByte(bb, dataIndex, dataLength, lenient);
     }
 
     public final short asShort(boolean lenient) {
-        return Integers.getShort(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getShort(buffer, dataIndex, dataLength, lenient)
+                : Integers.getShort(bb, dataIndex, dataLength, lenient);
     }
 
     public final int asInt(boolean lenient) {
-        return Integers.getInt(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getInt(buffer, dataIndex, dataLength, lenient)
+                : Integers.getInt(bb, dataIndex, dataLength, lenient);
     }
 
     public final long asLong(boolean lenient) {
-        return Integers.getLong(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getLong(buffer, dataIndex, dataLength, lenient)
+                : Integers.getLong(bb, dataIndex, dataLength, lenient);
     }
 
     public final BigInteger asBigInt(boolean lenient) {
-        return Integers.getBigInt(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getBigInt(buffer, dataIndex, dataLength, lenient)
+                : Integers.getBigInt(bb, dataIndex, dataLength, lenient);
     }
 
     public final float asFloat(boolean lenient) {
-        return FloatingPoint.getFloat(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? FloatingPoint.getFloat(buffer, dataIndex, dataLength, lenient)
+                : FloatingPoint.getFloat(bb, dataIndex, dataLength, lenient);
     }
 
     public final double asDouble(boolean lenient) {
-        return FloatingPoint.getDouble(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? FloatingPoint.getDouble(buffer, dataIndex, dataLength, lenient)
+                : FloatingPoint.getDouble(bb, dataIndex, dataLength, lenient);
     }
 
     public final byte asByte() {
@@ -194,7 +252,7 @@ public abstract class RLPItem {
     public final int hashCode() {
         int result = 1;
         for (int i = index; i < endIndex; i++) {
-            result = 31 * result + buffer[i];
+            result = 31 * result + get(i);
         }
         return result;
     }
@@ -208,7 +266,18 @@ public abstract class RLPItem {
 //                this.buffer, this.index, this.endIndex,
 //                other.buffer, other.index, other.endIndex
 //        );
-        return equals(other.buffer, other.index, other.endIndex);
+        if(this.buffer != null && other.buffer != null) {
+            return equals(other.buffer, other.index, other.endIndex);
+        }
+        final int len = this.endIndex - this.index;
+        if(len != other.endIndex - other.index) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (this.get(this.index + i) != other.get(other.index + i))
+                return false;
+        }
+        return true;
     }
 
     private boolean equals(byte[] b, int bIdx, int bEnd) {
@@ -225,7 +294,9 @@ public abstract class RLPItem {
 
     @Override
     public final String toString() {
-        return Notation.encodeToString(buffer, index, endIndex);
+        return buffer != null
+                ? Notation.encodeToString(buffer, index, endIndex)
+                : Notation.encodeToString(encoding());
     }
 
     /**
@@ -233,6 +304,8 @@ public abstract class RLPItem {
      * @return  this item's bytes, including RLP prefix, encoded to your liking
      */
     public final String encodingString(int encoding) {
-        return Strings.encode(buffer, index, encodingLength(), encoding);
+        return buffer != null
+                ? Strings.encode(buffer, index, encodingLength(), encoding)
+                : Strings.encode(encoding(), encoding);
     }
 }
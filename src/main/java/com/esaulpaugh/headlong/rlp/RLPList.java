@@ -17,6 +17,7 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.util.Integers;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -30,6 +31,10 @@ public final class RLPList extends RLPItem implements Iterable<RLPItem> {
         super(buffer, index, dataIndex, dataLength, endIndex);
     }
 
+    RLPList(ByteBuffer bb, int index, int dataIndex, int dataLength, int endIndex) {
+        super(bb, index, dataIndex, dataLength, endIndex);
+    }
+
     @Override
     public boolean isString() {
         return false;
@@ -125,12 +130,14 @@ public final class RLPList extends RLPItem implements Iterable<RLPItem> {
 
         private final RLPDecoder decoder;
         private final byte[] buffer;
+        private final ByteBuffer bb;
         private int idx;
         private final int endIndex;
 
         RLPListIterator(RLPDecoder decoder, RLPList rlpList) {
             this.decoder = decoder;
             this.buffer = rlpList.buffer;
+            this.bb = rlpList.bb;
             this.idx = rlpList.dataIndex;
             this.endIndex = rlpList.endIndex;
         }
@@ -143,7 +150,9 @@ public final class RLPList extends RLPItem implements Iterable<RLPItem> {
         @Override
         public RLPItem next() {
             if (hasNext()) {
-                RLPItem next = decoder.wrap(buffer, idx, endIndex);
+                RLPItem next = buffer != null
+                        ? decoder.wrap(buffer, idx, endIndex)
+                        : decoder.wrap(bb, idx, endIndex);
                 idx = next.endIndex;
                 return next;
             }
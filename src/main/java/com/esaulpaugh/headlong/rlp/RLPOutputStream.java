@@ -15,40 +15,133 @@
 */
 package com.esaulpaugh.headlong.rlp;
 
+import com.esaulpaugh.headlong.util.Integers;
 import com.esaulpaugh.headlong.util.Strings;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Objects;
 
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_SHORT_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_SHORT_OFFSET;
+
 /**
  * An {@link OutputStream} in which the data is encoded to RLP format before writing to the underlying {@link OutputStream}.
  * Each call to {@link #write(int)}, {@link #write(byte[])}, or {@link #write(byte[], int, int)} will write one RLP string item.
  * Buffered or otherwise unpredictably-sized writes to an {@link RLPOutputStream} will result in an unpredictable RLP structure.
+ * <p>
+ * By default each item is written through to the underlying stream. Given a buffer size, items are instead encoded into
+ * a reusable buffer which is written out whenever it fills and upon {@link #flush()} or {@link #close()}; strings longer
+ * than the buffer are written directly after it. Neither closes the underlying stream or channel.
+ * <p>
+ * Lists may be written incrementally: {@link #beginList(long)} writes the prefix of a list whose payload length is
+ * known, and the items then written up to {@link #endList()} form its elements. Where the length is not known in
+ * advance, a stream over a {@link FileChannel} supports {@link #beginList()}, which leaves room for the longest prefix
+ * and back-patches the actual prefix at {@link #endList()}. If the list begun is still in the buffer, the room left
+ * over is closed up in memory; otherwise its payload is moved back in the file, so the buffer should be sized to hold
+ * such lists where possible.
  */
 public class RLPOutputStream extends OutputStream {
 
-    private final OutputStream out;
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final int MAX_PREFIX_LEN = 1 + Long.BYTES;
+    private static final byte[] PLACEHOLDER = new byte[MAX_PREFIX_LEN];
+
+    private final OutputStream out; // null if writing to a channel
+    private final FileChannel channel;
+    private final long base; // the channel position at which the stream begins
+
+    private final byte[] buffer; // null if unbuffered
+    private int count;
+    private long flushed; // the number of bytes written to the underlying stream or channel
+
+    private final byte[] prefix = new byte[MAX_PREFIX_LEN];
+
+    private long[] listStarts = new long[8]; // for each open list, the offset of its payload, or of its prefix if unknown
+    private long[] listEnds = new long[8]; // for each open list, the offset of its end, or -1 if unknown
+    private int depth;
 
     public RLPOutputStream(OutputStream out) {
         this.out = Objects.requireNonNull(out);
+        this.channel = null;
+        this.base = 0L;
+        this.buffer = null;
+    }
+
+    public RLPOutputStream(OutputStream out, int bufferSize) {
+        this.out = Objects.requireNonNull(out);
+        this.channel = null;
+        this.base = 0L;
+        this.buffer = newBuffer(bufferSize);
+    }
+
+    /**
+     * Creates a buffered stream which writes to the channel from its current position and which supports lists of
+     * unknown length.
+     *
+     * @param channel   the destination, opened for reading and writing
+     * @param bufferSize    the size of the buffer
+     * @throws IOException  if the channel's position cannot be read
+     */
+    public RLPOutputStream(FileChannel channel, int bufferSize) throws IOException {
+        this.out = null;
+        this.channel = Objects.requireNonNull(channel);
+        this.base = channel.position();
+        this.buffer = newBuffer(bufferSize);
+    }
+
+    private static byte[] newBuffer(int bufferSize) {
+        if(bufferSize < MAX_PREFIX_LEN) {
+            throw new IllegalArgumentException("bufferSize must be at least " + MAX_PREFIX_LEN + ": " + bufferSize);
+        }
+        return new byte[bufferSize];
     }
 
     @Override
     public void write(int b) throws IOException {
-        writeOut(RLPEncoder.encodeString((byte) b));
+        if(DataType.isSingleByte((byte) b)) {
+            prefix[0] = (byte) b;
+            emit(prefix, 0, 1);
+        } else {
+            prefix[0] = (byte) (STRING_SHORT_OFFSET + 1);
+            prefix[1] = (byte) b;
+            emit(prefix, 0, 2);
+        }
     }
 
     @Override
     public void write(byte[] b) throws IOException {
-        writeOut(RLPEncoder.encodeString(b));
+        write(b, 0, b.length);
     }
 
     @Override
     public void write(byte[] buffer, int offset, int len) throws IOException {
-        writeOut(RLPEncoder.encodeString(Arrays.copyOfRange(buffer, offset, offset + len)));
+        if(offset < 0 || len < 0 || len > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if(len == 1) {
+            write(buffer[offset]);
+            return;
+        }
+        if(this.buffer == null) { // one write of the whole encoding, as the underlying stream may be unbuffered
+            final int prefixLen = putPrefix(len, STRING_SHORT_OFFSET, STRING_LONG_OFFSET, prefix);
+            final byte[] encoding = new byte[prefixLen + len];
+            System.arraycopy(prefix, 0, encoding, 0, prefixLen);
+            System.arraycopy(buffer, offset, encoding, prefixLen, len);
+            writeThrough(encoding, 0, encoding.length);
+            return;
+        }
+        emitPrefix(len, STRING_SHORT_OFFSET, STRING_LONG_OFFSET);
+        emit(buffer, offset, len);
     }
 
     public void writeAll(Object... rawObjects) throws IOException {
@@ -68,12 +161,202 @@ public class RLPOutputStream extends OutputStream {
     }
 
     private void writeOut(byte[] rlp) throws IOException {
-        out.write(rlp, 0, rlp.length);
+        emit(rlp, 0, rlp.length);
+    }
+
+    /**
+     * Writes the prefix of a list whose elements are the items written from now until the matching {@link #endList()}.
+     *
+     * @param payloadLength the total encoding length of the list's elements
+     * @throws IOException  if the underlying stream or channel cannot be written
+     */
+    public void beginList(long payloadLength) throws IOException {
+        if(payloadLength < 0) {
+            throw new IllegalArgumentException("negative payload length: " + payloadLength);
+        }
+        emitPrefix(payloadLength, LIST_SHORT_OFFSET, LIST_LONG_OFFSET);
+        final long start = offset();
+        push(start, start + payloadLength);
+    }
+
+    /**
+     * Begins a list whose elements are the items written from now until the matching {@link #endList()}, which writes
+     * its prefix.
+     *
+     * @throws IOException  if the channel cannot be written
+     * @throws UnsupportedOperationException    if this stream does not write to a {@link FileChannel}
+     */
+    public void beginList() throws IOException {
+        if(channel == null) {
+            throw new UnsupportedOperationException("list of unknown length requires a FileChannel");
+        }
+        final long start = offset();
+        emit(PLACEHOLDER, 0, MAX_PREFIX_LEN); // room for the prefix
+        push(start, -1L);
+    }
+
+    private void push(long start, long end) {
+        if(depth == listStarts.length) {
+            listStarts = Arrays.copyOf(listStarts, depth << 1);
+            listEnds = Arrays.copyOf(listEnds, depth << 1);
+        }
+        listStarts[depth] = start;
+        listEnds[depth++] = end;
+    }
+
+    /**
+     * Ends the list last begun.
+     *
+     * @throws IOException  if the underlying stream or channel cannot be written
+     * @throws IllegalStateException    if no list has been begun, or if the payload written differs in length from that
+     *                                  declared by {@link #beginList(long)}
+     */
+    public void endList() throws IOException {
+        if(depth == 0) {
+            throw new IllegalStateException("not in a list");
+        }
+        final long start = listStarts[--depth];
+        final long end = listEnds[depth];
+        if(end >= 0) {
+            if(offset() != end) {
+                throw new IllegalStateException("list length mismatch: declared " + (end - start) + ", written " + (offset() - start));
+            }
+            return;
+        }
+        final long dataLen = offset() - start - MAX_PREFIX_LEN;
+        final int prefixLen = putPrefix(dataLen, LIST_SHORT_OFFSET, LIST_LONG_OFFSET, prefix);
+        final int shift = MAX_PREFIX_LEN - prefixLen;
+        if(start >= flushed) { // the list is buffered
+            final int idx = (int) (start - flushed);
+            System.arraycopy(prefix, 0, buffer, idx, prefixLen);
+            System.arraycopy(buffer, idx + MAX_PREFIX_LEN, buffer, idx + prefixLen, count - idx - MAX_PREFIX_LEN);
+            count -= shift;
+        } else {
+            drain();
+            writeFully(ByteBuffer.wrap(prefix, 0, prefixLen), base + start);
+            moveBack(base + start + MAX_PREFIX_LEN, dataLen, shift);
+            flushed -= shift;
+            channel.truncate(base + flushed);
+        }
+    }
+
+    /* moves len bytes of the file at pos back by shift bytes, in chunks the size of the empty buffer */
+    private void moveBack(long pos, long len, int shift) throws IOException {
+        final ByteBuffer bb = ByteBuffer.wrap(buffer);
+        while (len > 0) {
+            bb.clear();
+            bb.limit((int) Math.min(buffer.length, len));
+            while (bb.hasRemaining()) {
+                if(channel.read(bb, pos + bb.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            bb.flip();
+            final int n = bb.remaining();
+            writeFully(bb, pos - shift);
+            pos += n;
+            len -= n;
+        }
+    }
+
+    private void writeFully(ByteBuffer bb, long pos) throws IOException {
+        while (bb.hasRemaining()) {
+            pos += channel.write(bb, pos);
+        }
+    }
+
+    /** @return the number of lists begun and not yet ended */
+    public int depth() {
+        return depth;
+    }
+
+    private void emitPrefix(long dataLen, byte shortOffset, byte longOffset) throws IOException {
+        emit(prefix, 0, putPrefix(dataLen, shortOffset, longOffset, prefix));
+    }
+
+    private static int putPrefix(long dataLen, byte shortOffset, byte longOffset, byte[] dest) {
+        if(dataLen < MIN_LONG_DATA_LEN) {
+            dest[0] = (byte) (shortOffset + dataLen);
+            return 1;
+        }
+        final int n = Integers.putLong(dataLen, dest, 1);
+        dest[0] = (byte) (longOffset + n);
+        return 1 + n;
+    }
+
+    /* appends to the buffer, or writes through if unbuffered or if the bytes are longer than the buffer */
+    private void emit(byte[] b, int off, int len) throws IOException {
+        if(buffer != null) {
+            if(len <= buffer.length - count) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            drain();
+            if(len < buffer.length) {
+                System.arraycopy(b, off, buffer, 0, len);
+                count = len;
+                return;
+            }
+        }
+        writeThrough(b, off, len);
+    }
+
+    private void writeThrough(byte[] b, int off, int len) throws IOException {
+        if(out != null) {
+            out.write(b, off, len);
+        } else {
+            writeFully(ByteBuffer.wrap(b, off, len), base + flushed);
+        }
+        flushed += len;
+    }
+
+    private void drain() throws IOException {
+        if(count > 0) {
+            final int n = count;
+            count = 0;
+            writeThrough(buffer, 0, n);
+        }
+    }
+
+    /**
+     * Writes out the buffer and flushes the underlying stream, or sets the channel's position to the end of the bytes
+     * written.
+     *
+     * @throws IOException  if the underlying stream or channel cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if(out != null) {
+            out.flush();
+        } else {
+            channel.position(base + flushed);
+        }
+    }
+
+    /**
+     * Flushes this stream, leaving the underlying stream or channel open.
+     *
+     * @throws IOException  if the underlying stream or channel cannot be written
+     * @throws IllegalStateException    if a list has been begun and not ended
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        if(depth != 0) {
+            throw new IllegalStateException("unclosed lists: " + depth);
+        }
+    }
+
+    /* the number of bytes written to the stream, including those buffered */
+    private long offset() {
+        return flushed + count;
     }
 
     @Override
     public String toString() {
-        return out.toString();
+        return out != null ? out.toString() : channel.toString();
     }
     
     public static class Baos extends ByteArrayOutputStream {
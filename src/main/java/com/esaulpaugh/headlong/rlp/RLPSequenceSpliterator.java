@@ -0,0 +1,152 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.util.Integers;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_LIST_SHORT;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_SINGLE_BYTE;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_STRING_SHORT;
+
+/**
+ * A {@link Spliterator} over consecutive serialized RLP items which can be split for parallel decoding. Until it is
+ * first split, it decodes items one after another like {@link RLPSequenceIterator}. The first split scans the rest of
+ * the sequence, reading only prefixes, to find where each item starts; from then on, ranges of items are split in two
+ * at the item nearest the middle byte, so that the halves hold similar amounts of data.
+ * <p>
+ * The scan does not validate items. An item found to be invalid ends the scan and is left to be decoded, and rejected,
+ * as the last item of the sequence.
+ */
+final class RLPSequenceSpliterator implements Spliterator<RLPItem> {
+
+    private static final int CHARACTERISTICS = ORDERED | NONNULL;
+
+    private final RLPDecoder decoder;
+    private final byte[] buffer;
+    private int index; // the next item, until scanned
+
+    private int[] starts; // the start index of each item, once scanned
+    private int lo;
+    private int hi;
+
+    RLPSequenceSpliterator(RLPDecoder decoder, byte[] buffer, int index) {
+        this.decoder = decoder;
+        this.buffer = buffer;
+        this.index = index;
+    }
+
+    private RLPSequenceSpliterator(RLPDecoder decoder, byte[] buffer, int[] starts, int lo, int hi) {
+        this.decoder = decoder;
+        this.buffer = buffer;
+        this.starts = starts;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super RLPItem> action) {
+        if(starts == null) {
+            if(index >= buffer.length) {
+                return false;
+            }
+            final RLPItem item = decoder.wrap(buffer, index);
+            index = item.endIndex;
+            action.accept(item);
+            return true;
+        }
+        if(lo >= hi) {
+            return false;
+        }
+        action.accept(decoder.wrap(buffer, starts[lo++]));
+        return true;
+    }
+
+    @Override
+    public Spliterator<RLPItem> trySplit() {
+        if(starts == null) {
+            starts = scan(buffer, index);
+            lo = 0;
+            hi = starts.length;
+        }
+        if(hi - lo < 2) {
+            return null;
+        }
+        final int end = hi < starts.length ? starts[hi] : buffer.length;
+        final int target = (int) (((long) starts[lo] + end) >>> 1);
+        int mid = Arrays.binarySearch(starts, lo + 1, hi, target);
+        if(mid < 0) {
+            mid = Math.min(~mid, hi - 1); // the first item starting after the middle byte
+        }
+        final RLPSequenceSpliterator prefix = new RLPSequenceSpliterator(decoder, buffer, starts, lo, mid);
+        lo = mid;
+        return prefix;
+    }
+
+    /**
+     * Reads the prefix of each item, without validation, to find where each starts.
+     *
+     * @return the start index of every item from {@code index} to the end of the buffer
+     */
+    static int[] scan(byte[] buffer, int index) {
+        int[] starts = new int[16];
+        int n = 0;
+        while (index < buffer.length) {
+            if(n == starts.length) {
+                starts = Arrays.copyOf(starts, n << 1);
+            }
+            starts[n++] = index;
+            final long end = endIndex(buffer, index);
+            if(end < 0 || end > buffer.length) {
+                break; // the item will fail to decode
+            }
+            index = (int) end;
+        }
+        return Arrays.copyOf(starts, n);
+    }
+
+    /* returns the end of the item at index as its prefix declares, or -1 if its prefix is truncated */
+    private static long endIndex(byte[] buffer, int index) {
+        final byte lead = buffer[index];
+        final DataType type = DataType.type(lead);
+        switch (type.ordinal()) {
+        case ORDINAL_SINGLE_BYTE: return index + 1L;
+        case ORDINAL_STRING_SHORT:
+        case ORDINAL_LIST_SHORT: return index + 1L + (lead - type.offset);
+        default:
+            final int lengthLen = lead - type.offset;
+            final int dataIndex = index + 1 + lengthLen;
+            if(dataIndex > buffer.length) {
+                return -1L;
+            }
+            final long dataLength = Integers.getLong(buffer, index + 1, lengthLen, true);
+            return dataLength < 0 ? -1L : dataIndex + dataLength;
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return starts == null ? buffer.length - index : hi - lo;
+    }
+
+    @Override
+    public int characteristics() {
+        return starts == null ? CHARACTERISTICS : CHARACTERISTICS | SIZED | SUBSIZED;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_LIST_SHORT;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_SINGLE_BYTE;
+import static com.esaulpaugh.headlong.rlp.DataType.ORDINAL_STRING_SHORT;
+
+/**
+ * A push-style decoder of a stream of RLP items arriving in chunks, e.g. from a non-blocking channel. Bytes are
+ * {@link #feed(ByteBuffer) fed} or {@link #read(ReadableByteChannel) read} into a ring buffer and complete items are
+ * {@link #poll() polled} out of it. Nothing blocks and no chunk is retained.
+ * <p>
+ * The ring buffer grows only when a pending item is longer than it, and never beyond the maximum item size; an item
+ * whose prefix declares a greater length is rejected as soon as its prefix arrives. When the buffer is full,
+ * {@link #feed(ByteBuffer)} accepts nothing more until items are polled, leaving the rest of the chunk to the caller.
+ * <p>
+ * Between items, {@link #buffered()} is zero. Otherwise a partial item is pending: {@link #pendingItemLength()} is its
+ * encoding length once its prefix is complete, and {@link #bytesNeeded()} is how many more bytes are needed at least.
+ * <p>
+ * Not thread-safe.
+ */
+public final class RLPStreamDecoder {
+
+    private static final int MIN_CAPACITY = 16; // holds any prefix
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final RLPDecoder decoder;
+    private final int maxItemSize;
+
+    private byte[] ring;
+    private int head;
+    private int size;
+    private long position;
+
+    RLPStreamDecoder(RLPDecoder decoder, int initialCapacity, int maxItemSize) {
+        if(maxItemSize < 1 || maxItemSize > MAX_CAPACITY) {
+            throw new IllegalArgumentException("maxItemSize out of range: " + maxItemSize);
+        }
+        if(initialCapacity < 0 || initialCapacity > maxItemSize) {
+            throw new IllegalArgumentException("initialCapacity out of range: " + initialCapacity);
+        }
+        this.decoder = decoder;
+        this.maxItemSize = maxItemSize;
+        this.ring = new byte[capacityFor(initialCapacity)];
+    }
+
+    private static int capacityFor(int len) {
+        return len <= MIN_CAPACITY ? MIN_CAPACITY : Integer.highestOneBit(len - 1) << 1;
+    }
+
+    public int maxItemSize() {
+        return maxItemSize;
+    }
+
+    /** @return the number of bytes buffered, all of which belong to items not yet polled */
+    public int buffered() {
+        return size;
+    }
+
+    /** @return the stream offset of the next item to be polled */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * @return the encoding length of the pending item, or -1 if nothing is buffered or the item's prefix is incomplete
+     * @throws IllegalArgumentException if the item is longer than the maximum item size
+     */
+    public long pendingItemLength() {
+        if(size == 0) {
+            return -1L;
+        }
+        final byte lead = get(0);
+        final DataType type = DataType.type(lead);
+        final int prefixLen;
+        final long dataLength;
+        switch (type.ordinal()) {
+        case ORDINAL_SINGLE_BYTE: prefixLen = 0; dataLength = 1L; break;
+        case ORDINAL_STRING_SHORT:
+        case ORDINAL_LIST_SHORT: prefixLen = 1; dataLength = lead - type.offset; break;
+        default:
+            final int lengthLen = lead - type.offset;
+            prefixLen = 1 + lengthLen;
+            if(size < prefixLen) {
+                return -1L;
+            }
+            long val = 0L;
+            for (int i = 1; i <= lengthLen; i++) {
+                val = val << Byte.SIZE | (get(i) & 0xFFL);
+            }
+            dataLength = val;
+        }
+        if(dataLength < 0 || dataLength > maxItemSize - prefixLen) {
+            throw new IllegalArgumentException("item @ " + position + " exceeds max item size " + maxItemSize
+                    + ": data length " + Long.toUnsignedString(dataLength));
+        }
+        return prefixLen + dataLength;
+    }
+
+    /**
+     * @return the least number of bytes which must be buffered before the pending item is complete, or zero if it is
+     */
+    public long bytesNeeded() {
+        final long len = pendingItemLength();
+        return len < 0 ? 1L : Math.max(0L, len - size);
+    }
+
+    private byte get(int i) {
+        return ring[(head + i) & (ring.length - 1)];
+    }
+
+    /**
+     * Copies as many of the remaining bytes of {@code src} as fit into the buffer.
+     *
+     * @param src   a chunk of the stream
+     * @return the number of bytes taken from {@code src}, zero if the buffer is full of complete items
+     * @throws IllegalArgumentException if the pending item is longer than the maximum item size
+     */
+    public int feed(ByteBuffer src) {
+        reserve();
+        final int n = Math.min(src.remaining(), ring.length - size);
+        final int tail = (head + size) & (ring.length - 1);
+        final int first = Math.min(n, ring.length - tail);
+        src.get(ring, tail, first);
+        src.get(ring, 0, n - first);
+        size += n;
+        return n;
+    }
+
+    /**
+     * Reads from the channel into the buffer once.
+     *
+     * @param channel   the source, which may be non-blocking
+     * @return the number of bytes read, possibly zero, or -1 if the channel has reached end-of-stream
+     * @throws IOException  if the channel cannot be read
+     * @throws IllegalArgumentException if the pending item is longer than the maximum item size
+     */
+    public int read(ReadableByteChannel channel) throws IOException {
+        reserve();
+        final int tail = (head + size) & (ring.length - 1);
+        final int free = Math.min(ring.length - size, ring.length - tail);
+        final int n = channel.read(ByteBuffer.wrap(ring, tail, free));
+        if(n > 0) {
+            size += n;
+        }
+        return n;
+    }
+
+    /* grows the buffer if it is full and the pending item is longer than it */
+    private void reserve() {
+        if(size == ring.length) {
+            final long len = pendingItemLength(); // the prefix is complete
+            if(len > ring.length) {
+                final byte[] grown = new byte[capacityFor((int) len)];
+                copy(grown, size);
+                ring = grown;
+                head = 0;
+            }
+        }
+    }
+
+    private void copy(byte[] dest, int len) {
+        final int first = Math.min(len, ring.length - head);
+        System.arraycopy(ring, head, dest, 0, first);
+        System.arraycopy(ring, 0, dest, first, len - first);
+    }
+
+    /**
+     * Removes the next item from the buffer if it is complete. The item is backed by an array of its own and remains
+     * valid as the buffer is reused.
+     *
+     * @param <T>   the desired return type
+     * @return the item, or null if more bytes are needed
+     * @throws IllegalArgumentException if the item fails to decode or is longer than the maximum item size
+     */
+    public <T extends RLPItem> T poll() {
+        final long len = pendingItemLength();
+        if(len < 0 || len > size) {
+            return null;
+        }
+        final byte[] encoding = new byte[(int) len];
+        copy(encoding, encoding.length);
+        final T item = decoder.wrap(encoding, 0);
+        head = (head + encoding.length) & (ring.length - 1);
+        size -= encoding.length;
+        position += encoding.length;
+        return item;
+    }
+}
@@ -15,6 +15,8 @@
 */
 package com.esaulpaugh.headlong.rlp;
 
+import java.nio.ByteBuffer;
+
 /** Extends {@link RLPItem}. Created by Evo on 1/19/2017. */
 public final class RLPString extends RLPItem {
 
@@ -22,6 +24,10 @@ public final class RLPString extends RLPItem {
         super(buffer, index, dataIndex, dataLength, endIndex);
     }
 
+    RLPString(ByteBuffer bb, int index, int dataIndex, int dataLength, int endIndex) {
+        super(bb, index, dataIndex, dataLength, endIndex);
+    }
+
     @Override
     public boolean isString() {
         return true;
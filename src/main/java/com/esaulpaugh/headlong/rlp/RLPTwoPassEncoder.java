@@ -0,0 +1,202 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Encodes nested structures of byte strings, {@link Iterable}s and {@code Object[]}s, like {@link RLPEncoder}, in two
+ * passes. The first pass measures every list once, recording the payload lengths in an {@code int[]} in the order the
+ * lists will be written; the second writes each prefix from that record. {@link RLPEncoder#encodeAsList(Iterable)} by
+ * contrast measures each list once per enclosing list, which is costly for deep structures such as trie nodes. Every
+ * {@link Iterable} must yield the same elements in both passes.
+ * <p>
+ * An instance reuses its record, and the buffer through which it writes to channels, from call to call. Not
+ * thread-safe.
+ */
+public final class RLPTwoPassEncoder {
+
+    private static final int CHANNEL_BUFFER_LEN = 8192;
+    private static final int MAX_PREFIX_LEN = 1 + Integer.BYTES; // lead byte and up to four length bytes
+
+    private int[] lengths = new int[16]; // payload length of each list, in pre-order
+    private int count;
+    private int next;
+
+    private ByteBuffer out;
+    private WritableByteChannel channel;
+    private ByteBuffer channelBuffer;
+
+    /**
+     * Returns the encoding of an RLP list item containing the given elements encoded in the given order.
+     *
+     * @param elements the raw elements to be encoded as an RLP list item
+     * @return the encoded RLP list item
+     * @see RLPEncoder#encodeAsList(Iterable)
+     */
+    public byte[] encodeAsList(Iterable<?> elements) {
+        final byte[] dest = new byte[measure(elements)];
+        write(elements, ByteBuffer.wrap(dest));
+        return dest;
+    }
+
+    /**
+     * Inserts into the destination array at the given index the encoding of an RLP list item containing the given
+     * elements encoded in the given order.
+     *
+     * @param elements  the raw elements to be encoded as an RLP list item
+     * @param dest      the destination for the encoded RLP list
+     * @param destIndex the index into the destination for the list
+     * @return the index into {@code dest} marking the end of the list
+     */
+    public int encodeAsList(Iterable<?> elements, byte[] dest, int destIndex) {
+        final ByteBuffer bb = ByteBuffer.wrap(dest, destIndex, dest.length - destIndex);
+        encodeAsList(elements, bb);
+        return bb.position();
+    }
+
+    /**
+     * Puts into the destination buffer at its current position the encoding of an RLP list item containing the given
+     * elements encoded in the given order.
+     *
+     * @param elements the raw elements to be encoded as an RLP list item
+     * @param dest     the destination for the encoded RLP list
+     */
+    public void encodeAsList(Iterable<?> elements, ByteBuffer dest) {
+        measure(elements);
+        write(elements, dest);
+    }
+
+    /**
+     * Writes to the channel the encoding of an RLP list item containing the given elements encoded in the given order.
+     * Strings are gathered into a buffer of fixed size, except for those longer than it, which are written directly.
+     *
+     * @param elements the raw elements to be encoded as an RLP list item
+     * @param channel  the destination for the encoded RLP list, in blocking mode
+     * @return the number of bytes written
+     * @throws IOException  if the channel cannot be written
+     */
+    public int encodeAsList(Iterable<?> elements, WritableByteChannel channel) throws IOException {
+        final int len = measure(elements);
+        if(channelBuffer == null) {
+            channelBuffer = ByteBuffer.allocate(CHANNEL_BUFFER_LEN);
+        }
+        channelBuffer.clear();
+        this.out = channelBuffer;
+        this.channel = channel;
+        try {
+            next = 0;
+            writeList(elements);
+            flush();
+        } finally {
+            this.out = null;
+            this.channel = null;
+        }
+        return len;
+    }
+
+    /* the first pass. returns the encoding length of the list */
+    private int measure(Iterable<?> elements) {
+        count = 0;
+        return measureList(elements);
+    }
+
+    private int measureList(Iterable<?> elements) {
+        final int slot = count++;
+        if(slot == lengths.length) {
+            lengths = Arrays.copyOf(lengths, slot << 1);
+        }
+        long sum = 0;
+        for (Object raw : elements) {
+            sum += measureItem(raw);
+        }
+        final int dataLen = RLPEncoder.requireNoOverflow(sum);
+        lengths[slot] = dataLen;
+        return RLPEncoder.itemLen(dataLen);
+    }
+
+    private int measureItem(Object raw) {
+        if (raw instanceof byte[]) {
+            return RLPEncoder.stringEncodedLen((byte[]) raw);
+        }
+        if (raw instanceof Iterable<?>) {
+            return measureList((Iterable<?>) raw);
+        }
+        if(raw instanceof Object[]) {
+            return measureList(Arrays.asList((Object[]) raw));
+        }
+        if(raw == null) {
+            throw new NullPointerException();
+        }
+        throw new IllegalArgumentException("unsupported object type: " + raw.getClass().getName());
+    }
+
+    /* the second pass */
+    private void write(Iterable<?> elements, ByteBuffer dest) {
+        this.out = dest;
+        try {
+            next = 0;
+            writeList(elements);
+        } catch (IOException io) {
+            throw new AssertionError(io); // there is no channel
+        } finally {
+            this.out = null;
+        }
+    }
+
+    private void writeList(Iterable<?> elements) throws IOException {
+        ensureRemaining(MAX_PREFIX_LEN);
+        RLPEncoder.insertListPrefix(lengths[next++], out);
+        for (Object raw : elements) {
+            if (raw instanceof byte[]) {
+                writeString((byte[]) raw);
+            } else {
+                writeList(raw instanceof Object[] ? Arrays.asList((Object[]) raw) : (Iterable<?>) raw);
+            }
+        }
+    }
+
+    private void writeString(byte[] byteString) throws IOException {
+        ensureRemaining(MAX_PREFIX_LEN + byteString.length);
+        if(out.remaining() >= MAX_PREFIX_LEN + byteString.length || channel == null) {
+            RLPEncoder.encodeString(byteString, out);
+        } else { // longer than the channel buffer
+            RLPEncoder.insertStringPrefix(byteString.length, out);
+            flush();
+            final ByteBuffer src = ByteBuffer.wrap(byteString);
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+        }
+    }
+
+    private void ensureRemaining(int n) throws IOException {
+        if(channel != null && out.remaining() < n) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
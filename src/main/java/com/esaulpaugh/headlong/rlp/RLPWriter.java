@@ -0,0 +1,210 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.util.Integers;
+
+import java.util.Arrays;
+
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_SHORT_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_SHORT_OFFSET;
+
+/**
+ * Builds RLP encodings backwards, from the end of an internal buffer toward its start, so that each list's prefix is
+ * written once its payload is complete and no length need be measured in advance. Accordingly, items are added in
+ * reverse order: the last item of a sequence first, and the last element of each list first. {@link #beginList()} is
+ * called after the list's last element would follow, i.e. before its elements are added, and {@link #endList()} after
+ * its first element has been added.
+ * <p>
+ * For example, the list {@code [ 0x01, [ ] ]}, encoded by {@link RLPEncoder#encodeAsList(Object...)} as
+ * {@code c2 01 c0}, is built by
+ * <pre>{@code writer.beginList().beginList().endList().addLong(1L).endList().toByteArray()}</pre>
+ * The buffer is reused after {@link #reset()}. Not thread-safe.
+ */
+public final class RLPWriter {
+
+    private byte[] buffer;
+    private int position; // the start of the written bytes, which end at buffer.length
+
+    private int[] listEnds = new int[8]; // for each open list, the number of bytes written before it was begun
+    private int depth;
+
+    public RLPWriter() {
+        this(256);
+    }
+
+    public RLPWriter(int initialCapacity) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be non-negative");
+        }
+        this.buffer = new byte[initialCapacity];
+        this.position = initialCapacity;
+    }
+
+    /** @return the number of bytes written */
+    public int size() {
+        return buffer.length - position;
+    }
+
+    /** @return the number of lists begun and not yet ended */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Discards everything written, keeping the buffer.
+     *
+     * @return this writer
+     */
+    public RLPWriter reset() {
+        position = buffer.length;
+        depth = 0;
+        return this;
+    }
+
+    /**
+     * Prepends the encoding of the given byte string.
+     *
+     * @param byteString    the string
+     * @return this writer
+     */
+    public RLPWriter addString(byte[] byteString) {
+        final int dataLen = byteString.length;
+        if(dataLen == 1 && DataType.isSingleByte(byteString[0])) {
+            reserve(1);
+            buffer[--position] = byteString[0];
+            return this;
+        }
+        reserve(1L + Integer.BYTES + dataLen);
+        position -= dataLen;
+        System.arraycopy(byteString, 0, buffer, position, dataLen);
+        prependPrefix(dataLen, STRING_SHORT_OFFSET, STRING_LONG_OFFSET);
+        return this;
+    }
+
+    /**
+     * Prepends the encoding of the minimal big-endian representation of the given integer, as by
+     * {@link Integers#toBytes(long)}.
+     *
+     * @param val   the integer
+     * @return this writer
+     */
+    public RLPWriter addLong(long val) {
+        reserve(1 + Long.BYTES);
+        if(val >= 0 && val < 0x80) {
+            buffer[--position] = val == 0 ? STRING_SHORT_OFFSET : (byte) val;
+            return this;
+        }
+        final int len = Integers.len(val);
+        for (int i = 0; i < len; i++) {
+            buffer[--position] = (byte) val;
+            val >>>= Byte.SIZE;
+        }
+        buffer[--position] = (byte) (STRING_SHORT_OFFSET + len);
+        return this;
+    }
+
+    /**
+     * Begins a list, whose elements are then added last to first.
+     *
+     * @return this writer
+     */
+    public RLPWriter beginList() {
+        if(depth == listEnds.length) {
+            listEnds = Arrays.copyOf(listEnds, depth << 1);
+        }
+        listEnds[depth++] = size();
+        return this;
+    }
+
+    /**
+     * Ends the list last begun by prepending its prefix.
+     *
+     * @return this writer
+     * @throws IllegalStateException    if no list has been begun
+     */
+    public RLPWriter endList() {
+        if(depth == 0) {
+            throw new IllegalStateException("not in a list");
+        }
+        final int dataLen = size() - listEnds[--depth];
+        reserve(1 + Integer.BYTES);
+        prependPrefix(dataLen, LIST_SHORT_OFFSET, LIST_LONG_OFFSET);
+        return this;
+    }
+
+    private void prependPrefix(int dataLen, byte shortOffset, byte longOffset) {
+        if(dataLen < MIN_LONG_DATA_LEN) {
+            buffer[--position] = (byte) (shortOffset + dataLen);
+        } else {
+            int n = 0;
+            for (int v = dataLen; v != 0; v >>>= Byte.SIZE) {
+                buffer[--position] = (byte) v;
+                n++;
+            }
+            buffer[--position] = (byte) (longOffset + n);
+        }
+    }
+
+    /* ensures that n more bytes can be prepended, moving the written bytes to the end of a larger buffer if need be */
+    private void reserve(long n) {
+        if(n > position) {
+            final int size = size();
+            final long required = size + n;
+            if(required > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("encoding too long: " + required);
+            }
+            final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) buffer.length << 1));
+            final byte[] grown = new byte[capacity];
+            System.arraycopy(buffer, position, grown, capacity - size, size);
+            buffer = grown;
+            position = capacity - size;
+        }
+    }
+
+    /**
+     * @return a copy of the bytes written
+     * @throws IllegalStateException    if a list has been begun and not ended
+     */
+    public byte[] toByteArray() {
+        requireClosed();
+        return Arrays.copyOfRange(buffer, position, buffer.length);
+    }
+
+    /**
+     * Copies the bytes written into the destination array at the given index.
+     *
+     * @param dest      the destination
+     * @param destIndex the index into the destination
+     * @return the index into {@code dest} marking the end of the copied bytes
+     * @throws IllegalStateException    if a list has been begun and not ended
+     */
+    public int export(byte[] dest, int destIndex) {
+        requireClosed();
+        final int size = size();
+        System.arraycopy(buffer, position, dest, destIndex, size);
+        return destIndex + size;
+    }
+
+    private void requireClosed() {
+        if(depth != 0) {
+            throw new IllegalStateException("unclosed lists: " + depth);
+        }
+    }
+}
@@ -17,6 +17,8 @@ package com.esaulpaugh.headlong.rlp.util;
 
 import com.esaulpaugh.headlong.util.Integers;
 
+import java.nio.ByteBuffer;
+
 /** Utility for reading and writing floating point numbers from and to RLP format. */
 public final class FloatingPoint {
 
@@ -28,6 +30,10 @@ public final class FloatingPoint {
         return Float.intBitsToFloat(Integers.getInt(bytes, i, len, lenient));
     }
 
+    public static float getFloat(ByteBuffer buffer, int i, int len, boolean lenient) {
+        return Float.intBitsToFloat(Integers.getInt(buffer, i, len, lenient));
+    }
+
     public static int putFloat(float val, byte[] bytes, int i) {
         return Integers.putLong(Float.floatToIntBits(val), bytes, i);
     }
@@ -42,6 +48,10 @@ public final class FloatingPoint {
         return Double.longBitsToDouble(Integers.getLong(bytes, i, len, lenient));
     }
 
+    public static double getDouble(ByteBuffer buffer, int i, int len, boolean lenient) {
+        return Double.longBitsToDouble(Integers.getLong(buffer, i, len, lenient));
+    }
+
     public static int putDouble(double val, byte[] bytes, int i) {
         return Integers.putLong(Double.doubleToLongBits(val), bytes, i);
     }
@@ -335,6 +335,50 @@ public final class Integers {
         }
     }
 
+    /**
+     * Like {@link #getLong(byte[], int, int, boolean)} but reads from a {@link ByteBuffer}, which may be direct or
+     * read-only, at the absolute index {@code offset}.
+     *
+     * @param buffer  the buffer containing the integer's representation
+     * @param offset  the absolute index locating the integer
+     * @param len     the length in bytes of the integer's representation
+     * @param lenient whether to allow leading zeroes
+     * @return the integer
+     * @throws IllegalArgumentException if the integer's representation is found to have leading zeroes
+     */
+    public static long getLong(final ByteBuffer buffer, final int offset, final int len, final boolean lenient) {
+        if(len < 0 || len > Long.BYTES) {
+            throw outOfRangeException(len);
+        }
+        if(len != 0 && !lenient && buffer.get(offset) == 0) {
+            throw leadingZeroException(offset, len);
+        }
+        long val = 0L;
+        for (int i = offset; i < offset + len; i++) {
+            val = val << Byte.SIZE | (buffer.get(i) & 0xFFL);
+        }
+        return val;
+    }
+
+    public static byte getByte(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        return (byte) getLong(buffer, offset, checkLen(len, Byte.BYTES), lenient);
+    }
+
+    public static short getShort(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        return (short) getLong(buffer, offset, checkLen(len, Short.BYTES), lenient);
+    }
+
+    public static int getInt(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        return (int) getLong(buffer, offset, checkLen(len, Integer.BYTES), lenient);
+    }
+
+    private static int checkLen(int len, int max) {
+        if(len > max) {
+            throw outOfRangeException(len);
+        }
+        return len;
+    }
+
     private static IllegalArgumentException leadingZeroException(int idx, int len) {
         return new IllegalArgumentException("deserialized integers with leading zeroes are invalid; index: " + idx + ", len: " + len);
     }
@@ -441,6 +485,20 @@ public final class Integers {
         return BigInteger.ZERO;
     }
 
+    public static BigInteger getBigInt(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        if(len != 0) {
+            if(!lenient && buffer.get(offset) == 0x00) {
+                throw leadingZeroException(offset, len);
+            }
+            final byte[] arr = new byte[Byte.BYTES + len]; // a leading zero byte
+            final ByteBuffer src = buffer.duplicate();
+            src.position(offset);
+            src.get(arr, Byte.BYTES, len);
+            return new BigInteger(arr);
+        }
+        return BigInteger.ZERO;
+    }
+
     public static int putBigInt(BigInteger val, byte[] dest, int destIdx) {
         byte[] bytes = val.toByteArray();
         int srcPos = 0;
@@ -311,7 +311,7 @@ public final class Keccak extends MessageDigest {
         this.rateBits = rateBits + inBits;
     }
 
-    private static void keccak(long[] a) {
+    static void keccak(long[] a) {
         int c, i;
         long x, a_10_;
         long x0, x1, x2, x3, x4;
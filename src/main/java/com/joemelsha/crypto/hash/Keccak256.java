@@ -0,0 +1,128 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.joemelsha.crypto.hash;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * One-shot Keccak-256 which allocates nothing. Input words are read directly from the array or buffer and the
+ * permutation runs on a per-thread state, so there is no {@link java.security.MessageDigest} instance, no
+ * {@link ByteBuffer} wrapper and no output array.
+ */
+public final class Keccak256 {
+
+    private Keccak256() {}
+
+    public static final String ALGORITHM = "Keccak-256";
+    public static final int DIGEST_LEN = 32;
+
+    private static final int RATE_BYTES = 136;
+    private static final int RATE_LANES = RATE_BYTES / Long.BYTES;
+
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[25]);
+
+    /**
+     * Writes the 32-byte hash of {@code in[off, off + len)} to {@code out} at {@code outOff}.
+     */
+    public static void hash(byte[] in, int off, int len, byte[] out, int outOff) {
+        hash(in, off, len, out, outOff, DIGEST_LEN);
+    }
+
+    /**
+     * Like {@link #hash(byte[], int, int, byte[], int)} but writes only the first {@code outLen} bytes of the hash,
+     * e.g. the four bytes of a function selector.
+     */
+    public static void hash(byte[] in, int off, int len, byte[] out, int outOff, int outLen) {
+        if(off < 0 || len < 0 || off > in.length - len || outLen < 0 || outLen > DIGEST_LEN || outOff < 0 || outOff > out.length - outLen) {
+            throw new IndexOutOfBoundsException();
+        }
+        final long[] s = STATE.get();
+        Arrays.fill(s, 0L);
+        for ( ; len >= RATE_BYTES; off += RATE_BYTES, len -= RATE_BYTES) {
+            for (int i = 0; i < RATE_LANES; i++) {
+                s[i] ^= getLongLE(in, off + i * Long.BYTES, Long.BYTES);
+            }
+            Keccak.keccak(s);
+        }
+        final int lanes = len >>> 3;
+        for (int i = 0; i < lanes; i++) {
+            s[i] ^= getLongLE(in, off + i * Long.BYTES, Long.BYTES);
+        }
+        s[lanes] ^= getLongLE(in, off + lanes * Long.BYTES, len & 7);
+        pad(s, len);
+        for (int i = 0; i < outLen; i++) {
+            out[outOff + i] = (byte) (s[i >>> 3] >>> ((i & 7) << 3));
+        }
+    }
+
+    /**
+     * Hashes the input buffer's remaining bytes and puts the 32-byte hash in the output buffer. Advances the position of
+     * each buffer.
+     *
+     * @throws BufferOverflowException if fewer than 32 bytes remain in {@code out}
+     */
+    public static void hash(ByteBuffer in, ByteBuffer out) {
+        if(out.remaining() < DIGEST_LEN) {
+            throw new BufferOverflowException();
+        }
+        final boolean littleEndian = in.order() == ByteOrder.LITTLE_ENDIAN;
+        int pos = in.position();
+        int len = in.limit() - pos;
+        final long[] s = STATE.get();
+        Arrays.fill(s, 0L);
+        for ( ; len >= RATE_BYTES; pos += RATE_BYTES, len -= RATE_BYTES) {
+            for (int i = 0; i < RATE_LANES; i++) {
+                final long w = in.getLong(pos + i * Long.BYTES);
+                s[i] ^= littleEndian ? w : Long.reverseBytes(w);
+            }
+            Keccak.keccak(s);
+        }
+        final int lanes = len >>> 3;
+        for (int i = 0; i < lanes; i++) {
+            final long w = in.getLong(pos + i * Long.BYTES);
+            s[i] ^= littleEndian ? w : Long.reverseBytes(w);
+        }
+        long last = 0L;
+        for (int k = (len & 7) - 1; k >= 0; k--) {
+            last = last << Byte.SIZE | (in.get(pos + lanes * Long.BYTES + k) & 0xFFL);
+        }
+        s[lanes] ^= last;
+        pad(s, len);
+        in.position(in.limit());
+        final boolean outLittleEndian = out.order() == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < DIGEST_LEN / Long.BYTES; i++) {
+            out.putLong(outLittleEndian ? s[i] : Long.reverseBytes(s[i]));
+        }
+    }
+
+    /* applies the Keccak padding after the final len bytes of input and runs the last permutation */
+    private static void pad(long[] s, int len) {
+        s[len >>> 3] ^= 0x01L << ((len & 7) << 3);
+        s[RATE_LANES - 1] ^= 0x80L << 56;
+        Keccak.keccak(s);
+    }
+
+    private static long getLongLE(byte[] in, int off, int n) {
+        long w = 0L;
+        for (int k = n - 1; k >= 0; k--) {
+            w = w << Byte.SIZE | (in[off + k] & 0xFFL);
+        }
+        return w;
+    }
+}
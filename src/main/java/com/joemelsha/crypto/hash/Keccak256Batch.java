@@ -0,0 +1,245 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.joemelsha.crypto.hash;
+
+/**
+ * Computes the Keccak-256 hashes of many short messages together. Each message must fit in a single rate block (at
+ * most {@link #MAX_MESSAGE_LEN} bytes), which covers selectors, EIP-55 checksums, storage slots and event signatures.
+ * <p>
+ * The states of up to {@code width} messages are interleaved lane by lane: lane {@code i} of message {@code j} is
+ * {@code a[i][j]}. Every step of the permutation is then a simple loop over {@code j} applying the same operation to
+ * the same index of a few arrays, which the JIT compiler can vectorize.
+ * <p>
+ * Not thread-safe; each instance holds its own scratch state.
+ */
+public final class Keccak256Batch {
+
+    public static final int DIGEST_LEN = 32;
+
+    private static final int LANES = 25;
+    private static final int RATE_BYTES = 136;
+    private static final int RATE_LANES = RATE_BYTES / Long.BYTES;
+    private static final int DIGEST_LANES = DIGEST_LEN / Long.BYTES;
+
+    /** One byte of every block is needed for the padding. */
+    public static final int MAX_MESSAGE_LEN = RATE_BYTES - 1;
+
+    /* rotation offset of each lane x + 5y */
+    private static final int[] RHO = {
+             0,  1, 62, 28, 27,
+            36, 44,  6, 55, 20,
+             3, 10, 43, 25, 39,
+            41, 45, 15, 21,  8,
+            18,  2, 61, 56, 14
+    };
+
+    /* destination of each lane x + 5y under pi: (x, y) -> (y, 2x + 3y) */
+    private static final int[] PI = new int[LANES];
+
+    static {
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                PI[x + 5 * y] = y + 5 * ((2 * x + 3 * y) % 5);
+            }
+        }
+    }
+
+    private static final long[] RC = {
+            0x0000000000000001L, 0x0000000000008082L, 0x800000000000808AL, 0x8000000080008000L, 0x000000000000808BL,
+            0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L, 0x000000000000008AL, 0x0000000000000088L,
+            0x0000000080008009L, 0x000000008000000AL, 0x000000008000808BL, 0x800000000000008BL, 0x8000000000008089L,
+            0x8000000000008003L, 0x8000000000008002L, 0x8000000000000080L, 0x000000000000800AL, 0x800000008000000AL,
+            0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+    };
+
+    private final int width;
+    private final long[][] a;
+    private final long[][] b;
+    private final long[][] c;
+    private final long[][] d;
+
+    /**
+     * @param width the number of messages to permute together; widths of 64 or more amortize the loop overhead
+     */
+    public Keccak256Batch(int width) {
+        if(width < 1) {
+            throw new IllegalArgumentException("width must be positive");
+        }
+        this.width = width;
+        this.a = new long[LANES][width];
+        this.b = new long[LANES][width];
+        this.c = new long[5][width];
+        this.d = new long[5][width];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Hashes each message, writing the digest of {@code messages[i]} to {@code out} at
+     * {@code outOff + i * }{@link #DIGEST_LEN}.
+     *
+     * @param messages  the messages, each at most {@link #MAX_MESSAGE_LEN} bytes long
+     * @param out   the destination for the digests
+     * @param outOff    the index in {@code out} of the first digest
+     */
+    public void hash(byte[][] messages, byte[] out, int outOff) {
+        for (int i = 0; i < messages.length; i++) {
+            checkLength(messages[i].length);
+        }
+        checkOut(messages.length, out, outOff);
+        for (int start = 0; start < messages.length; start += width) {
+            final int n = Math.min(width, messages.length - start);
+            for (int j = 0; j < n; j++) {
+                final byte[] m = messages[start + j];
+                absorb(j, m, 0, m.length);
+            }
+            permute(n);
+            squeeze(n, out, outOff + start * DIGEST_LEN);
+        }
+    }
+
+    /**
+     * Hashes {@code count} messages of length {@code len} stored one after another in {@code in}, such as the
+     * lowercase hex of many addresses or many 64-byte storage slot keys.
+     *
+     * @param in    the messages
+     * @param inOff the index of the first message
+     * @param len   the length of every message, at most {@link #MAX_MESSAGE_LEN}
+     * @param count the number of messages
+     * @param out   the destination for the digests, {@link #DIGEST_LEN} bytes each
+     * @param outOff    the index in {@code out} of the first digest
+     */
+    public void hash(byte[] in, int inOff, int len, int count, byte[] out, int outOff) {
+        checkLength(len);
+        if(count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        checkRange("input", inOff, (long) len * count, in.length);
+        checkOut(count, out, outOff);
+        for (int start = 0; start < count; start += width) {
+            final int n = Math.min(width, count - start);
+            for (int j = 0; j < n; j++) {
+                absorb(j, in, inOff + (start + j) * len, len);
+            }
+            permute(n);
+            squeeze(n, out, outOff + start * DIGEST_LEN);
+        }
+    }
+
+    private static void checkLength(int len) {
+        if(len < 0) {
+            throw new IllegalArgumentException("negative message length: " + len);
+        }
+        if(len > MAX_MESSAGE_LEN) {
+            throw new IllegalArgumentException("message length exceeds " + MAX_MESSAGE_LEN + ": " + len);
+        }
+    }
+
+    private static void checkOut(int count, byte[] out, int outOff) {
+        checkRange("output", outOff, (long) DIGEST_LEN * count, out.length);
+    }
+
+    private static void checkRange(String name, int off, long len, int arrayLen) {
+        if(off < 0 || off + len > arrayLen) {
+            throw new IndexOutOfBoundsException(name + " range [" + off + ", " + off + " + " + len + ") out of bounds for length " + arrayLen);
+        }
+    }
+
+    /* writes the padded block of message j into its lanes, resetting the rest of its state */
+    private void absorb(int j, byte[] m, int off, int len) {
+        final long[][] a = this.a;
+        final int fullLanes = len >>> 3;
+        int lane = 0;
+        for ( ; lane < fullLanes; lane++, off += Long.BYTES) {
+            a[lane][j] = getLongLE(m, off, Long.BYTES);
+        }
+        a[lane++][j] = getLongLE(m, off, len & 7) ^ 0x01L << ((len & 7) << 3); // Keccak padding: 1, then zeros
+        for ( ; lane < LANES; lane++) {
+            a[lane][j] = 0L;
+        }
+        a[RATE_LANES - 1][j] ^= 0x80L << 56; // final 1 of the padding
+    }
+
+    private static long getLongLE(byte[] m, int off, int n) {
+        long w = 0L;
+        for (int k = n - 1; k >= 0; k--) {
+            w = w << Byte.SIZE | (m[off + k] & 0xFFL);
+        }
+        return w;
+    }
+
+    private void squeeze(int n, byte[] out, int outOff) {
+        for (int j = 0; j < n; j++, outOff += DIGEST_LEN) {
+            for (int lane = 0; lane < DIGEST_LANES; lane++) {
+                long w = a[lane][j];
+                for (int k = 0; k < Long.BYTES; k++, w >>>= Byte.SIZE) {
+                    out[outOff + lane * Long.BYTES + k] = (byte) w;
+                }
+            }
+        }
+    }
+
+    /* Keccak-f[1600] on the first n interleaved states */
+    private void permute(final int n) {
+        final long[][] a = this.a;
+        final long[][] b = this.b;
+        final long[][] c = this.c;
+        final long[][] d = this.d;
+        for (int round = 0; round < 24; round++) {
+            // theta: column parities
+            for (int x = 0; x < 5; x++) {
+                final long[] cx = c[x], a0 = a[x], a1 = a[x + 5], a2 = a[x + 10], a3 = a[x + 15], a4 = a[x + 20];
+                for (int j = 0; j < n; j++) {
+                    cx[j] = a0[j] ^ a1[j] ^ a2[j] ^ a3[j] ^ a4[j];
+                }
+            }
+            // theta: D[x] = C[x-1] ^ rotl(C[x+1], 1)
+            for (int x = 0; x < 5; x++) {
+                final long[] dx = d[x], prev = c[(x + 4) % 5], next = c[(x + 1) % 5];
+                for (int j = 0; j < n; j++) {
+                    final long cn = next[j];
+                    dx[j] = prev[j] ^ ((cn << 1) | (cn >>> 63));
+                }
+            }
+            // the rest of theta, with rho and pi, from a into b
+            for (int i = 0; i < LANES; i++) {
+                final int r = RHO[i];
+                final long[] src = a[i], dx = d[i % 5], dst = b[PI[i]];
+                for (int j = 0; j < n; j++) {
+                    final long v = src[j] ^ dx[j];
+                    dst[j] = (v << r) | (v >>> (64 - r)); // for r == 0, both shifts are by 0
+                }
+            }
+            // chi, from b into a
+            for (int y = 0; y < LANES; y += 5) {
+                for (int x = 0; x < 5; x++) {
+                    final long[] dst = a[y + x], b0 = b[y + x], b1 = b[y + (x + 1) % 5], b2 = b[y + (x + 2) % 5];
+                    for (int j = 0; j < n; j++) {
+                        dst[j] = b0[j] ^ (~b1[j] & b2[j]);
+                    }
+                }
+            }
+            // iota
+            final long rc = RC[round];
+            final long[] a0 = a[0];
+            for (int j = 0; j < n; j++) {
+                a0[j] ^= rc;
+            }
+        }
+    }
+}
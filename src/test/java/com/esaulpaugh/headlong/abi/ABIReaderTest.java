@@ -0,0 +1,157 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ABIReaderTest {
+
+    private static final class Recorder implements ABIVisitor {
+
+        final StringBuilder sb = new StringBuilder();
+
+        @Override
+        public void onTupleStart(TupleType type) {
+            sb.append('(');
+        }
+
+        @Override
+        public void onTupleEnd(TupleType type) {
+            sb.append(')');
+        }
+
+        @Override
+        public void onArrayStart(ArrayType<?, ?> type, int length) {
+            sb.append(length).append('[');
+        }
+
+        @Override
+        public void onArrayEnd(ArrayType<?, ?> type) {
+            sb.append(']');
+        }
+
+        @Override
+        public void onBoolean(boolean value) {
+            sb.append(value).append(',');
+        }
+
+        @Override
+        public void onLong(UnitType<?> type, long value) {
+            sb.append(value).append(',');
+        }
+
+        @Override
+        public void onWord(UnitType<?> type, ByteBuffer buffer, int index) {
+            sb.append(Strings.encode(buffer.array(), index, UnitType.UNIT_LENGTH_BYTES, Strings.HEX)).append(',');
+        }
+
+        @Override
+        public void onBytes(ArrayType<?, ?> type, ByteBuffer buffer, int index, int length) {
+            sb.append('\'').append(Strings.encode(buffer.array(), index, length, Strings.UTF_8)).append("',");
+        }
+    }
+
+    private static String read(TupleType tt, byte[] encoding) {
+        Recorder r = new Recorder();
+        new ABIReader(tt).read(encoding, r);
+        return r.sb.toString();
+    }
+
+    @Test
+    public void testRead() {
+        final TupleType tt = TupleType.parse("(uint8,int64[],(bool,bytes3)[2],string[],int)");
+        final Tuple values = Tuple.of(
+                255,
+                new long[] { -1L, Long.MAX_VALUE },
+                new Tuple[] { Tuple.of(true, new byte[] { 'a', 'b', 'c' }), Tuple.of(false, new byte[] { 'x', 'y', 'z' }) },
+                new String[] { "one", "", "three" },
+                BigInteger.valueOf(-2L)
+        );
+        final ByteBuffer bb = tt.encode(values);
+        assertEquals(
+                "(255,2[-1,9223372036854775807,]2[(true,'abc',)(false,'xyz',)]3['one','','three',]"
+                        + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffe,)",
+                read(tt, bb.array())
+        );
+
+        final ByteBuffer bigger = ByteBuffer.allocate(bb.capacity() + 3);
+        bigger.position(3);
+        bigger.put(bb.array());
+        bigger.position(3);
+        Recorder r = new Recorder();
+        new ABIReader(tt).read(bigger, r);
+        assertEquals(bigger.limit(), bigger.position());
+        assertEquals(read(tt, bb.array()), r.sb.toString());
+    }
+
+    @Test
+    public void testLenient() throws Throwable {
+        final TupleType tt = TupleType.parse("(ufixed,string)");
+        final byte[] lenientBytes = Strings.decode(
+                "0000000000000000000000000000000000000000000000000000000000000045"
+              + "00000000000000000000000000000000000000000000000000000000000000a3"
+              + "0000000000000000000000000000000000000000000000000000000000000000"
+              + "0000000000000000000000000000000000000000000000000000000000000000"
+              + "0000000000000000000000000000000000000000000000000000000000000000000000"
+              + "0000000000000000000000000000000000000000000000000000000000000004"
+              + "7730307400000000000000000000000000000000000000000000000000000000");
+        assertEquals("(0000000000000000000000000000000000000000000000000000000000000045,'w00t',)", read(tt, lenientBytes));
+
+        final byte[] tooSmallOffset = Strings.decode(
+                "0000000000000000000000000000000000000000000000000000000000000045"
+              + "000000000000000000000000000000000000000000000000000000000000003f"
+              + "0000000000000000000000000000000000000000000000000000000000000004"
+              + "7730307400000000000000000000000000000000000000000000000000000000");
+        assertThrown(IllegalArgumentException.class, "illegal backwards jump: (0+63=63)<64", () -> read(tt, tooSmallOffset));
+    }
+
+    @Test
+    public void testMalformed() throws Throwable {
+        final TupleType bytes = TupleType.parse("(bytes)");
+        final String badPadding =
+                "0000000000000000000000000000000000000000000000000000000000000020" +
+                "0000000000000000000000000000000000000000000000000000000000000001" +
+                "aa00000000000000000000000000000000000000000000000000000000000001";
+        assertThrown(IllegalArgumentException.class, "malformed array: non-zero padding byte", () -> read(bytes, Strings.decode(badPadding)));
+
+        final String tooBigLength =
+                "0000000000000000000000000000000000000000000000000000000000000020" +
+                "0000000000000000000000000000000000000000000000000000000000020000" +
+                "aa00000000000000000000000000000000000000000000000000000000000000";
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 18 > 17", () -> read(bytes, Strings.decode(tooBigLength)));
+
+        final String bigOffset =
+                "000000000000000000000000000000000000000000000000000000007FFFFFFF" +
+                "0000000000000000000000000000000000000000000000000000000000000001" +
+                "aa00000000000000000000000000000000000000000000000000000000000000";
+        assertThrown(BufferUnderflowException.class, () -> read(bytes, Strings.decode(bigOffset)));
+
+        final TupleType int16 = TupleType.parse("(int16)");
+        assertEquals("(-32768,)", read(int16, Strings.decode("ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff8000")));
+        assertThrown(IllegalArgumentException.class, "signed val exceeds bit limit: 16 >= 16",
+                () -> read(int16, Strings.decode("ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7fff")));
+        assertThrown(IllegalArgumentException.class, "signed val exceeds bit limit: 255 >= 16",
+                () -> read(int16, Strings.decode("7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff")));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AddressSetTest {
+
+    private static final AddressType ADDRESS = TypeFactory.create("address");
+
+    /* distinct addresses, including zero, small and shifted values */
+    private static Address[] generate(Random r, int n) {
+        final Set<Address> addresses = new LinkedHashSet<>();
+        for (int i = 0; i < 200; i++) {
+            addresses.add(new Address(BigInteger.valueOf(i).shiftLeft(i % 3 * 64)));
+        }
+        while (addresses.size() < n) {
+            addresses.add(MonteCarloTestCase.generateAddress(r));
+        }
+        return addresses.toArray(new Address[0]);
+    }
+
+    private static byte[] word(Address a) {
+        final ByteBuffer bb = ByteBuffer.allocate(UnitType.UNIT_LENGTH_BYTES);
+        ADDRESS.encodeTail(a, bb);
+        return bb.array();
+    }
+
+    @Test
+    public void testAddressSet() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Address[] addresses = generate(r, 20_000);
+        final Set<Address> expected = new HashSet<>();
+        for (boolean direct : new boolean[] { false, true }) {
+            expected.clear();
+            final AddressSet set = new AddressSet(0, direct);
+            for (int i = 0; i < addresses.length; i += 2) {
+                assertEquals(expected.add(addresses[i]), set.add(addresses[i]));
+            }
+            assertEquals(expected.size(), set.size());
+            assertFalse(set.add(addresses[0]));
+            for (Address a : addresses) {
+                final boolean member = expected.contains(a);
+                assertEquals(member, set.contains(a));
+                final byte[] word = word(a);
+                assertEquals(member, set.contains(word));
+                final ByteBuffer calldata = ByteBuffer.allocate(4 + word.length).putInt(0xcafebabe).put(word);
+                assertEquals(member, set.contains(calldata, 4));
+                calldata.order(ByteOrder.LITTLE_ENDIAN);
+                assertEquals(member, set.contains(calldata, 4));
+                word[0] = 1;
+                assertFalse(set.contains(word));
+            }
+
+            final Path path = Files.createTempFile("addresses", ".bin");
+            try {
+                set.save(path);
+                final AddressSet loaded = AddressSet.load(path);
+                assertEquals(set.size(), loaded.size());
+                for (Address a : addresses) {
+                    assertEquals(expected.contains(a), loaded.contains(a));
+                }
+                assertThrown(ReadOnlyBufferException.class, () -> loaded.add(addresses[1]));
+                assertThrown(IllegalArgumentException.class, "expected value length 8 but found 0", () -> AddressMap.load(path));
+                Files.write(path, new byte[40]);
+                assertThrown(IllegalArgumentException.class, "not an address table", () -> AddressSet.load(path));
+            } finally {
+                Files.delete(path);
+            }
+        }
+        final AddressSet set = new AddressSet(1);
+        set.add(addresses[0]);
+        final Path path = Files.createTempFile("addresses", ".bin");
+        try {
+            set.save(path);
+            final byte[] image = Files.readAllBytes(path);
+            assertEquals(32 + 16 * 20, image.length);
+            ByteBuffer.wrap(image).putInt(12, 100); // size exceeds the max load of 12
+            Files.write(path, image);
+            assertThrown(IllegalArgumentException.class, "corrupt address table: size 100, capacity 16", () -> AddressSet.load(path));
+            Arrays.fill(image, 32, image.length, (byte) 0x01); // no empty slot
+            ByteBuffer.wrap(image).putInt(12, 1);
+            Files.write(path, image);
+            final AddressSet full = AddressSet.load(path);
+            assertThrown(IllegalStateException.class, "corrupt address table: no empty slot", () -> full.contains(addresses[1]));
+        } finally {
+            Files.delete(path);
+        }
+        assertThrown(IllegalArgumentException.class, "word length must be 32 but found 20", () -> set.contains(new byte[20]));
+        assertThrown(IllegalArgumentException.class, "expectedSize must be non-negative", () -> new AddressSet(-1));
+    }
+
+    @Test
+    public void testAddressMap() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Address[] addresses = generate(r, 5_000);
+        final AddressMap map = new AddressMap(100);
+        for (int i = 0; i < addresses.length; i++) {
+            map.put(addresses[i], i);
+        }
+        assertFalse(map.put(addresses[7], -7L));
+        assertEquals(addresses.length, map.size());
+        for (int i = 0; i < addresses.length; i++) {
+            final long v = i == 7 ? -7L : i;
+            assertEquals(v, map.get(addresses[i], Long.MIN_VALUE));
+            assertEquals(v, map.get(word(addresses[i]), Long.MIN_VALUE));
+            assertEquals(v, map.get(ByteBuffer.wrap(word(addresses[i])), 0, Long.MIN_VALUE));
+        }
+        final Address absent = new Address(BigInteger.ONE.shiftLeft(159));
+        assertFalse(map.containsKey(absent));
+        assertEquals(-1L, map.get(absent, -1L));
+
+        final Path path = Files.createTempFile("addresses", ".bin");
+        try {
+            map.save(path);
+            final AddressMap loaded = AddressMap.load(path);
+            assertEquals(map.size(), loaded.size());
+            for (int i = 0; i < addresses.length; i++) {
+                assertEquals(map.get(addresses[i], 0L), loaded.get(addresses[i], 0L));
+            }
+            assertTrue(loaded.containsKey(addresses[0]));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
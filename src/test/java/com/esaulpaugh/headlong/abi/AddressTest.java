@@ -21,12 +21,17 @@ import com.esaulpaugh.headlong.util.Strings;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.Locale;
 import java.util.Random;
 import java.util.regex.Pattern;
 
 import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AddressTest {
@@ -220,6 +225,64 @@ public class AddressTest {
         return BigInteger.valueOf(v).shiftLeft((42 - end) * 4);
     }
 
+    @Test
+    public void testPrimitiveBacking() throws Throwable {
+        final AddressType type = TypeFactory.create("address");
+        final Random r = TestUtils.seededRandom();
+        for (int bitlen = 0; bitlen <= TypeFactory.ADDRESS_BIT_LEN; bitlen++) {
+            final BigInteger val = new BigInteger(bitlen, r);
+            final Address address = new Address(val);
+            assertEquals(val, address.value());
+            assertEquals(Address.toChecksumAddress(val), address.toString());
+            assertSame(address.toString(), address.toString());
+
+            final Address wrapped = Address.wrap(address.toString());
+            assertEquals(address, wrapped);
+            assertEquals(address.hashCode(), wrapped.hashCode());
+
+            final ByteBuffer expected = ByteBuffer.allocate(UnitType.UNIT_LENGTH_BYTES);
+            Encoding.insertInt(val, UnitType.UNIT_LENGTH_BYTES, expected);
+            final ByteBuffer bb = ByteBuffer.allocate(UnitType.UNIT_LENGTH_BYTES);
+            type.encodeTail(address, bb);
+            assertArrayEquals(expected.array(), bb.array());
+            bb.flip();
+            assertEquals(address, type.decode(bb, null));
+            assertEquals(UnitType.UNIT_LENGTH_BYTES, bb.position());
+            assertEquals(address, Address.fromBytes(bb.array(), UnitType.UNIT_LENGTH_BYTES - TypeFactory.ADDRESS_BIT_LEN / Byte.SIZE));
+        }
+        assertNotEquals(new Address(BigInteger.ONE), new Address(BigInteger.ONE.shiftLeft(128)));
+
+        assertThrown(IllegalArgumentException.class, "signed value given for unsigned type", () -> new Address(BigInteger.ONE.negate()));
+        assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 161 > 160", () -> new Address(BigInteger.ONE.shiftLeft(160)));
+        final byte[] word = new byte[UnitType.UNIT_LENGTH_BYTES];
+        word[11] = 1;
+        assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 161 > 160", () -> type.decode(ByteBuffer.wrap(word), null));
+    }
+
+    @Test
+    public void testValidateAll() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final CharSequence[] addresses = new CharSequence[VECTORS.length + 100];
+        System.arraycopy(VECTORS, 0, addresses, 0, VECTORS.length);
+        for (int i = VECTORS.length; i < addresses.length; i++) {
+            final String address = generateAddressString(r);
+            addresses[i] = (i & 1) == 0 ? address : new StringBuilder(address);
+        }
+        Address.validateAll(addresses);
+        final Address[] wrapped = Address.wrapAll(addresses);
+        for (int i = 0; i < addresses.length; i++) {
+            assertEquals(Address.wrap(addresses[i].toString()), wrapped[i]);
+            assertEquals(addresses[i].toString(), wrapped[i].toString());
+        }
+
+        addresses[VECTORS.length + 3] = VECTORS[0].toLowerCase(Locale.ENGLISH);
+        assertThrown(IllegalArgumentException.class, "index " + (VECTORS.length + 3) + ": invalid checksum", () -> Address.validateAll(addresses));
+        addresses[1] = "0x" + VECTORS[1].substring(3);
+        assertThrown(IllegalArgumentException.class, "index 1: expected address length 42; actual is 41", () -> Address.wrapAll(addresses));
+        assertThrown(IllegalArgumentException.class, "index 0: illegal hex val @ 2", () -> Address.wrapAll("0xG" + VECTORS[0].substring(3)));
+        assertEquals(0, Address.wrapAll().length);
+    }
+
     @Test
     public void testStringAddrExceptions() throws Throwable {
         assertThrown(IllegalArgumentException.class, "invalid checksum", () -> Address.wrap("0x82095cafebabecafebabe00083ce15d74e191051"));
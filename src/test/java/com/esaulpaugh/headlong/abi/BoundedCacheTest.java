@@ -0,0 +1,66 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testEviction() throws Throwable {
+        final BoundedCache<Integer, String> cache = new BoundedCache<>(16);
+        for (int i = 0; i < 16; i++) {
+            assertEquals("v" + i, cache.putIfAbsent(i, "v" + i));
+        }
+        assertEquals(16, cache.size());
+        for (int i = 0; i < 8; i++) {
+            cache.get(i); // 8 through 15 are now least recently used
+        }
+        final String v16 = "v16";
+        assertSame(v16, cache.putIfAbsent(16, v16));
+        assertEquals(14, cache.size()); // down to 7/8 of capacity
+        for (int i = 8; i < 11; i++) {
+            assertNull(cache.get(i));
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals("v" + i, cache.get(i));
+        }
+        assertEquals("v0", cache.putIfAbsent(0, "other"));
+
+        assertThrown(IllegalArgumentException.class, "capacity must be positive", () -> new BoundedCache<>(0));
+    }
+
+    @Test
+    public void testConcurrent() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(64);
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            final String key = Integer.toString(i % 500);
+            final String v = cache.get(key);
+            assertTrue(v == null || v.equals(key));
+            cache.putIfAbsent(key, key);
+        });
+        cache.evict();
+        assertTrue(cache.size() <= cache.capacity());
+    }
+}
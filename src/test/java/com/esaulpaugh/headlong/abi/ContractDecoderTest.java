@@ -0,0 +1,104 @@
+/*
+   Copyright 2022 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ContractDecoderTest {
+
+    private static final String JSON = "[\n" +
+            "  { \"type\": \"function\", \"name\": \"transfer\", \"inputs\": [ { \"name\": \"to\", \"type\": \"address\" }, { \"name\": \"amount\", \"type\": \"uint256\" } ], \"outputs\": [ { \"type\": \"bool\" } ] },\n" +
+            "  { \"type\": \"function\", \"name\": \"setName\", \"inputs\": [ { \"name\": \"name\", \"type\": \"string\" } ], \"outputs\": [] },\n" +
+            "  { \"type\": \"event\", \"name\": \"Transfer\", \"inputs\": [ { \"name\": \"from\", \"type\": \"address\", \"indexed\": true } ] },\n" +
+            "  { \"type\": \"fallback\" },\n" +
+            "  { \"type\": \"receive\", \"stateMutability\": \"payable\" }\n" +
+            "]";
+
+    @Test
+    public void testDecode() throws Throwable {
+        final ContractDecoder decoder = ContractDecoder.fromJson(JSON);
+        assertEquals(2, decoder.getFunctions().size());
+
+        final Function transfer = decoder.getFunctions().get(0);
+        final Function setName = decoder.getFunctions().get(1);
+        assertEquals("transfer(address,uint256)", transfer.getCanonicalSignature());
+
+        final Tuple transferArgs = Tuple.of(Address.wrap("0xa83114A443dA1CecEFC50368531cACE9F37fCCcb"), BigInteger.TEN);
+        final ContractDecoder.Call call = decoder.decode(transfer.encodeCall(transferArgs));
+        assertSame(transfer, call.getFunction());
+        assertEquals(transferArgs, call.getArgs());
+
+        final ByteBuffer bb = setName.encodeCall(Tuple.singleton("headlong"));
+        final ContractDecoder.Call call2 = decoder.decode(bb);
+        assertSame(setName, call2.getFunction());
+        assertEquals(Tuple.singleton("headlong"), call2.getArgs());
+        assertEquals(bb.limit(), bb.position());
+
+        assertSame(transfer, decoder.getFunction(ByteBuffer.wrap(transfer.selector()).getInt()));
+        assertNull(decoder.getFunction(0));
+
+        assertThrown(IllegalArgumentException.class, "unrecognized selector: cafebabe",
+                () -> decoder.decode(Strings.decode("cafebabe")));
+        assertThrown(IllegalArgumentException.class, "unrecognized selector: 00000000",
+                () -> decoder.decode(new byte[Function.SELECTOR_LEN]));
+    }
+
+    @Test
+    public void testManyFunctions() {
+        final List<Function> functions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            functions.add(Function.parse("f" + i + "(uint" + (8 * (i % 32 + 1)) + ")"));
+        }
+        final ContractDecoder decoder = new ContractDecoder(functions);
+        for (Function f : functions) {
+            final Tuple args = Tuple.singleton(BigInteger.ONE);
+            final ContractDecoder.Call call;
+            if(f.getInputs().get(0) instanceof IntType) {
+                call = decoder.decode(f.encodeCallWithArgs(1));
+                assertEquals(Tuple.singleton(1), call.getArgs());
+            } else if(f.getInputs().get(0) instanceof LongType) {
+                call = decoder.decode(f.encodeCallWithArgs(1L));
+                assertEquals(Tuple.singleton(1L), call.getArgs());
+            } else {
+                call = decoder.decode(f.encodeCall(args));
+                assertEquals(args, call.getArgs());
+            }
+            assertSame(f, call.getFunction());
+        }
+    }
+
+    @Test
+    public void testCollision() throws Throwable {
+        final Function burn = Function.parse("burn(uint256)");
+        final Function collate = Function.parse("collate_propagate_storage(bytes16)");
+        assertEquals(burn.selectorHex(), collate.selectorHex());
+        assertThrown(IllegalArgumentException.class,
+                "selector collision: 42966c68 is the selector of both burn(uint256) and collate_propagate_storage(bytes16)",
+                () -> new ContractDecoder(Arrays.asList(burn, Function.parse("foo()"), collate)));
+    }
+}
@@ -27,6 +27,7 @@ import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.esaulpaugh.headlong.TestUtils.assertThrown;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -90,6 +91,22 @@ public class DecodeTest {
               + "7730307400000000000000000000000000000000000000000000000000000000");
 
         assertThrown(IllegalArgumentException.class, "illegal backwards jump: (0+63=63)<64", () -> FUNCTION.decodeReturn(tooSmallOffset));
+
+        final byte[] zeroOffset = Strings.decode(
+                "0000000000000000000000000000000000000000000000000000000000000045"
+              + "0000000000000000000000000000000000000000000000000000000000000000"
+              + "0000000000000000000000000000000000000000000000000000000000000004"
+              + "7730307400000000000000000000000000000000000000000000000000000000");
+
+        assertThrown(IllegalArgumentException.class, "illegal backwards jump: (0+0=0)<64", () -> FUNCTION.decodeReturn(zeroOffset));
+
+        final TupleType stringUint8 = TupleType.parse("(string,uint8)");
+        final byte[] badOffsetAndUint8 = Strings.decode(
+                "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"
+              + "0000000000000000000000000000000000000000000000000000000000000100");
+
+        // static elements are decoded before any offset is read
+        assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 9 > 8", () -> stringUint8.decode(badOffsetAndUint8));
     }
 
     @Test
@@ -468,4 +485,130 @@ public class DecodeTest {
         boolean b = bar.decodeSingletonReturn(Strings.decode("0000000000000000000000000000000000000000000000000000000000000001"));
         assertTrue(b);
     }
+
+    @Test
+    public void testDecodeParallel() throws Throwable {
+        final TupleType tt = TupleType.parse("(uint8,(uint32,bytes)[],string[][])");
+        final Tuple[] tuples = new Tuple[3000];
+        for (int i = 0; i < tuples.length; i++) {
+            tuples[i] = Tuple.of((long) i, new byte[i % 70]);
+        }
+        final String[][] strings = new String[40][];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = new String[i];
+            Arrays.fill(strings[i], Integer.toString(i));
+        }
+        final Tuple values = Tuple.of(7, tuples, strings);
+        final ByteBuffer encoding = tt.encode(values);
+        for (int threshold : new int[] { 1, 2, 39, 40, 2999, 3000, 3001 }) {
+            final ByteBuffer bb = encoding.duplicate();
+            assertEquals(values, tt.decodeParallel(bb, ForkJoinPool.commonPool(), threshold));
+            assertEquals(encoding.limit(), bb.position());
+        }
+        assertThrown(IllegalArgumentException.class, "threshold must be positive",
+                () -> tt.decodeParallel(encoding.duplicate(), ForkJoinPool.commonPool(), 0));
+
+        final ArrayType<?, Object> stringArr = TypeFactory.create("string[]");
+        final String head = "0000000000000000000000000000000000000000000000000000000000000003";
+        final String w00t = "0000000000000000000000000000000000000000000000000000000000000004"
+                + "7730307400000000000000000000000000000000000000000000000000000000";
+        final String lenient = head
+                + "0000000000000000000000000000000000000000000000000000000000000080"
+                + "00000000000000000000000000000000000000000000000000000000000000e0"
+                + "0000000000000000000000000000000000000000000000000000000000000120"
+                + "0000000000000000000000000000000000000000000000000000000000000000"
+                + w00t
+                + "0000000000000000000000000000000000000000000000000000000000000000"
+                + w00t + w00t;
+        assertSameDecode(stringArr, lenient, null);
+
+        final String backwards = head
+                + "0000000000000000000000000000000000000000000000000000000000000060"
+                + "00000000000000000000000000000000000000000000000000000000000000a0"
+                + "00000000000000000000000000000000000000000000000000000000000000a0"
+                + w00t + w00t;
+        assertSameDecode(stringArr, backwards, "illegal backwards jump: (32+160=192)<256");
+
+        final String sameTail = head
+                + "0000000000000000000000000000000000000000000000000000000000000060"
+                + "0000000000000000000000000000000000000000000000000000000000000060"
+                + "0000000000000000000000000000000000000000000000000000000000000060"
+                + w00t;
+        assertSameDecode(stringArr, sameTail, "illegal backwards jump: (32+96=128)<192");
+        final ByteBuffer sameTailBuf = ByteBuffer.wrap(Strings.decode(sameTail));
+        sameTailBuf.position(32);
+        assertFalse(new ForkJoinDecoder(ForkJoinPool.commonPool(), 1).decodeElements(stringArr.getElementType(), new String[3], sameTailBuf)); // not decoded in parallel
+        assertEquals(32, sameTailBuf.position());
+
+        final String badPadding = head
+                + "0000000000000000000000000000000000000000000000000000000000000060"
+                + "00000000000000000000000000000000000000000000000000000000000000a0"
+                + "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"
+                + w00t
+                + w00t.substring(0, 64) + "7730307401000000000000000000000000000000000000000000000000000000";
+        assertSameDecode(stringArr, badPadding, "malformed array: non-zero padding byte");
+    }
+
+    private static void assertSameDecode(ArrayType<?, Object> type, String hex, String errMessage) throws Throwable {
+        final byte[] bytes = Strings.decode(hex);
+        if(errMessage == null) {
+            final ByteBuffer seq = ByteBuffer.wrap(bytes);
+            final ByteBuffer par = ByteBuffer.wrap(bytes);
+            assertArrayEquals((Object[]) type.decode(seq), (Object[]) type.decodeParallel(par, ForkJoinPool.commonPool(), 1));
+            assertEquals(seq.position(), par.position());
+        } else {
+            assertThrown(IllegalArgumentException.class, errMessage, () -> type.decode(ByteBuffer.wrap(bytes)));
+            assertThrown(IllegalArgumentException.class, errMessage, () -> type.decodeParallel(ByteBuffer.wrap(bytes), ForkJoinPool.commonPool(), 1));
+        }
+    }
+
+    @Test
+    public void testDecodePrimitives() throws Throwable {
+        final TupleType tt = TupleType.parse("(int64,uint56,int8,uint24,uint64,int72,int256)");
+        final Tuple values = Tuple.of(
+                Long.MIN_VALUE,
+                (1L << 56) - 1,
+                -128,
+                (1 << 24) - 1,
+                new BigInteger("ffffffffffffffff", 16),
+                BigInteger.valueOf(-2L).pow(71),
+                BigInteger.valueOf(-3L)
+        );
+        final ByteBuffer encoding = tt.encode(values);
+        assertEquals(values, tt.decode(encoding.array()));
+
+        final String int64 = "ffffffffffffffffffffffffffffffffffffffffffffffff7fffffffffffffff";
+        TestUtils.assertThrown(IllegalArgumentException.class, "signed val exceeds bit limit: 64 >= 64",
+                () -> TupleType.parse("(int64)").decode(Strings.decode(int64)));
+        final String uint56 = "0000000000000000000000000000000000000000000000000100000000000000";
+        TestUtils.assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 57 > 56",
+                () -> TupleType.parse("(uint56)").decode(Strings.decode(uint56)));
+        TestUtils.assertThrown(BufferUnderflowException.class,
+                () -> TupleType.parse("(uint56)").decode(ByteBuffer.wrap(new byte[31])));
+    }
+
+    @Test
+    public void testDecodeLimbs() throws Throwable {
+        final UnitType<BigInteger> uint256 = TypeFactory.create("uint256");
+        final UnitType<BigInteger> int256 = TypeFactory.create("int256");
+        final long[] limbs = new long[4];
+        final ByteBuffer bb = ByteBuffer.wrap(Strings.decode(
+                "8000000000000000000000000000000100000000000000020000000000000003"
+              + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffe"));
+        uint256.decodeLimbs(bb, limbs);
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 1L, 2L, 3L }, limbs);
+        assertEquals(32, bb.position());
+        int256.decodeLimbs(bb, limbs);
+        assertArrayEquals(new long[] { -1L, -1L, -1L, -2L }, limbs);
+        assertEquals(64, bb.position());
+
+        int256.decodeLimbs(bb, 0, limbs);
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 1L, 2L, 3L }, limbs);
+        assertEquals(64, bb.position());
+
+        final UnitType<BigInteger> uint128 = TypeFactory.create("uint128");
+        TestUtils.assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 256 > 128",
+                () -> uint128.decodeLimbs(bb, 0, limbs));
+        TestUtils.assertThrown(BufferUnderflowException.class, () -> uint128.decodeLimbs(bb, 33, limbs));
+    }
 }
@@ -499,6 +499,41 @@ public class EncodeTest {
         );
     }
 
+    @Test
+    public void testNestedDynamic() throws Throwable {
+        final Function f = Function.parse("nested(((uint256,bytes)[],string)[],bytes)");
+        final Tuple[] outer = new Tuple[3];
+        for (int i = 0; i < outer.length; i++) {
+            final Tuple[] inner = new Tuple[i + 1];
+            for (int j = 0; j < inner.length; j++) {
+                inner[j] = Tuple.of(BigInteger.valueOf(j), new byte[j * 33]);
+            }
+            outer[i] = Tuple.of(inner, "element " + i);
+        }
+        final Tuple args = Tuple.of(outer, new byte[] { 1, 2, 3 });
+        final ByteBuffer call = f.encodeCall(args);
+        assertEquals(f.measureCallLength(args), call.limit());
+        assertEquals(args, f.decodeCall(call));
+
+        final ByteBuffer dest = ByteBuffer.allocate(call.limit());
+        f.encodeCall(args, dest);
+        assertArrayEquals(call.array(), dest.array());
+
+        final ArrayType<TupleType, Tuple[]> type = f.getInputs().get(0);
+        final int start = Function.SELECTOR_LEN + 2 * UNIT_LENGTH_BYTES;
+        assertArrayEquals(
+                Arrays.copyOfRange(call.array(), start, start + type.measureEncodedLength(outer)),
+                type.encode(outer).array()
+        );
+
+        ((Tuple[]) outer[2].get(0))[1] = Tuple.of(BigInteger.valueOf(-1L), new byte[0]);
+        assertThrown(
+                IllegalArgumentException.class,
+                "tuple index 0: array index 2: tuple index 0: array index 1: tuple index 0: signed value given for unsigned type",
+                () -> f.encodeCall(args)
+        );
+    }
+
     @Test
     public void testTypeSafety() throws Throwable {
         TestUtils.assertThrown(IllegalArgumentException.class, "tuple index 1: null",
@@ -628,4 +663,49 @@ public class EncodeTest {
         assertEquals(((UnitType<?>) TypeFactory.create("int128")).maxValue(), fixed.maxValue());
         assertEquals(((UnitType<?>) TypeFactory.create("int128")).minValue(), fixed.minValue());
     }
+
+    @Test
+    public void testInsertBigInteger() {
+        final Random r = TestUtils.seededRandom();
+        final ByteBuffer expected = ByteBuffer.allocate(UNIT_LENGTH_BYTES);
+        final ByteBuffer actual = ByteBuffer.allocate(UNIT_LENGTH_BYTES);
+        for (int bitLen = 0; bitLen <= 256; bitLen++) {
+            for (int j = 0; j < 8; j++) {
+                BigInteger val = new BigInteger(bitLen, r);
+                if(r.nextBoolean()) {
+                    val = val.negate().subtract(BigInteger.valueOf(r.nextInt(2)));
+                }
+                final int paddedLen = Math.max(1, Math.min(UNIT_LENGTH_BYTES, val.bitLength() / Byte.SIZE + 1 + r.nextInt(UNIT_LENGTH_BYTES)));
+                final byte[] arr = val.toByteArray();
+                expected.clear();
+                if(arr.length <= paddedLen) {
+                    final byte pad = val.signum() < 0 ? (byte) 0xFF : 0;
+                    for (int k = arr.length; k < paddedLen; k++) {
+                        expected.put(pad);
+                    }
+                    expected.put(arr);
+                } else {
+                    expected.put(arr, 1, paddedLen);
+                }
+                actual.clear();
+                Encoding.insertInt(val, paddedLen, actual);
+                assertEquals(expected.flip(), actual.flip(), val.toString(16) + " " + paddedLen);
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeLimbs() throws Throwable {
+        final UnitType<BigInteger> int256 = TypeFactory.create("int256");
+        final BigInteger val = BigInteger.valueOf(-5L).shiftLeft(130);
+        final long[] limbs = new long[4];
+        int256.decodeLimbs(int256.encode(val), limbs);
+        final ByteBuffer bb = ByteBuffer.allocate(UNIT_LENGTH_BYTES);
+        int256.encodeLimbs(limbs, bb);
+        assertEquals(int256.encode(val), bb.flip());
+
+        final UnitType<BigInteger> uint248 = TypeFactory.create("uint248");
+        assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 256 > 248",
+                () -> uint248.encodeLimbs(new long[] { Long.MIN_VALUE, 0L, 0L, 0L }, ByteBuffer.allocate(UNIT_LENGTH_BYTES)));
+    }
 }
@@ -31,6 +31,7 @@ import java.util.Random;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -74,7 +75,7 @@ public class EqualsTest {
             assertEquals(a.toJson(false), b.toJson(false));
             assertEquals(a.toString(), b.toString());
 
-            assertNotSame(a.getInputs().canonicalType, b.getInputs().canonicalType);
+            assertEquals(a.getInputs(), b.getInputs());
 
             assertEquals(a, b);
 
@@ -84,7 +85,15 @@ public class EqualsTest {
         System.out.println("n = " + n + ", maxIters = " + maxIters);
 
         assertSame(TupleType.parse("(uint)").get(0).getCanonicalType(), TupleType.parse("(uint)").get(0).getCanonicalType());
-        assertNotSame(Function.parse("(uint)").getInputs().getCanonicalType(), Function.parse("(uint)").getInputs().getCanonicalType());
+        // interned instances may be evicted between lookups by tests running in parallel, so identity is not asserted
+        assertEquals(Function.parse("(uint)").getInputs(), Function.parse("(uint)").getInputs());
+        assertEquals(TupleType.parse("(uint256)"), TupleType.parse("(uint)"));
+
+        final ABIType<?> named = TypeFactory.create("uint256[]", "amounts");
+        assertEquals("amounts", named.getName());
+        assertNotSame(TypeFactory.create("uint256[]"), named);
+        assertNull(TypeFactory.create("uint256[]").getName());
+        assertEquals(((ArrayType<?, ?>) named).getElementType(), TypeFactory.create("uint"));
     }
 
     private static boolean recursiveEquals(TupleType tt, Object o) {
@@ -15,11 +15,18 @@
 */
 package com.esaulpaugh.headlong.abi;
 
+import com.esaulpaugh.headlong.util.Strings;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class EventTest {
 
@@ -38,4 +45,74 @@ public class EventTest {
         assertEquals(TupleType.parse("((),ufixed256x10)"), event.getIndexedParams());
         assertEquals(TupleType.parse("(int256,uint256,bool[])"), event.getNonIndexedParams());
     }
+
+    private static final String TRANSFER_TOPIC0 = "ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String FROM = "0000000000000000000000008bd46af4f6b2d2d6b23a2b36d9ed6ef3efe3b0b7";
+    private static final String TO = "000000000000000000000000a83114a443da1cecefc50368531cace9f37fcccb";
+    private static final String ONE = "0000000000000000000000000000000000000000000000000000000000000001";
+
+    private static byte[][] topics(String... hex) {
+        final byte[][] topics = new byte[hex.length][];
+        for (int i = 0; i < hex.length; i++) {
+            topics[i] = Strings.decode(hex[i]);
+        }
+        return topics;
+    }
+
+    @Test
+    public void testDecodeLog() throws Throwable {
+        final Event erc20 = Event.create("Transfer", TupleType.parse("(address,address,uint256)"), true, true, false);
+        assertEquals(TRANSFER_TOPIC0, Strings.encode(erc20.topic0()));
+
+        final Tuple args = erc20.decodeLog(topics(TRANSFER_TOPIC0, FROM, TO), Strings.decode(ONE));
+        assertEquals(Address.wrap(Address.toChecksumAddress("0x8bd46af4f6b2d2d6b23a2b36d9ed6ef3efe3b0b7")), args.get(0));
+        assertEquals(Address.wrap("0xa83114A443dA1CecEFC50368531cACE9F37fCCcb"), args.get(1));
+        assertEquals(BigInteger.ONE, args.get(2));
+
+        assertThrown(IllegalArgumentException.class, "expected 3 topics but found 2",
+                () -> erc20.decodeLog(topics(TRANSFER_TOPIC0, FROM), Strings.decode(ONE)));
+        assertThrown(IllegalArgumentException.class, "unexpected topic0: expected " + TRANSFER_TOPIC0 + ", found " + ONE,
+                () -> erc20.decodeLog(topics(ONE, FROM, TO), Strings.decode(ONE)));
+        assertThrown(IllegalArgumentException.class, "topic length must be 32 but found 20",
+                () -> erc20.decodeLog(topics(TRANSFER_TOPIC0, FROM.substring(24), TO), Strings.decode(ONE)));
+
+        final Event anon = Event.createAnonymous("Anon", TupleType.parse("(string,bytes4,uint8[1],bool)"), true, true, true, false);
+        final String hash = "9c22ff5f21f0b81b113e63f7db6da94fedef11b2119b4088b89664fb9a3cb658";
+        final Tuple anonArgs = anon.decodeLog(
+                topics(hash, "cafebabe00000000000000000000000000000000000000000000000000000000", hash),
+                Strings.decode(ONE)
+        );
+        assertArrayEquals(Strings.decode(hash), anonArgs.get(0));
+        assertArrayEquals(Strings.decode("cafebabe"), anonArgs.get(1));
+        assertArrayEquals(Strings.decode(hash), anonArgs.get(2));
+        assertEquals(true, anonArgs.get(3));
+    }
+
+    @Test
+    public void testEventRegistry() throws Throwable {
+        final Event erc20 = Event.create("Transfer", TupleType.parse("(address,address,uint256)"), true, true, false);
+        final Event erc721 = Event.create("Transfer", TupleType.parse("(address,address,uint256)"), true, true, true);
+        final Event approval = Event.create("Approval", TupleType.parse("(address,address,uint256)"), true, true, false);
+        final Event anon = Event.createAnonymous("Transfer", TupleType.parse("(address,address,uint256)"), true, true, false);
+        final EventRegistry registry = new EventRegistry(Arrays.asList(erc20, erc721, approval, anon));
+        assertEquals(Arrays.asList(erc20, erc721, approval), registry.getEvents());
+
+        final EventRegistry.Log log = registry.decodeLog(topics(TRANSFER_TOPIC0, FROM, TO), Strings.decode(ONE));
+        assertSame(erc20, log.getEvent());
+        assertEquals(BigInteger.ONE, log.getArgs().get(2));
+
+        final EventRegistry.Log nft = registry.decodeLog(topics(TRANSFER_TOPIC0, FROM, TO, ONE), new byte[0]);
+        assertSame(erc721, nft.getEvent());
+        assertEquals(BigInteger.ONE, nft.getArgs().get(2));
+
+        assertSame(approval, registry.getEvent(new byte[][] { approval.topic0(), null, null }));
+        assertNull(registry.getEvent(topics(ONE, FROM, TO)));
+        assertNull(registry.getEvent(new byte[0][]));
+        assertThrown(IllegalArgumentException.class, "unrecognized topic0: " + TRANSFER_TOPIC0 + " with 2 topics",
+                () -> registry.decodeLog(topics(TRANSFER_TOPIC0, FROM), Strings.decode(ONE)));
+
+        assertThrown(IllegalArgumentException.class,
+                "duplicate topic0: " + TRANSFER_TOPIC0 + " with 3 topics for both Transfer(address,address,uint256) and Transfer(address,address,uint256)",
+                () -> new EventRegistry(Arrays.asList(erc20, approval, erc20)));
+    }
 }
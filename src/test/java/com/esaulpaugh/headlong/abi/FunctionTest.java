@@ -19,11 +19,18 @@ import com.esaulpaugh.headlong.TestUtils;
 import com.esaulpaugh.headlong.abi.util.WrappedKeccak;
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FunctionTest {
 
@@ -124,6 +131,45 @@ public class FunctionTest {
         assertEquals(canon.getCanonicalSignature(), nonCanon.getCanonicalSignature());
     }
 
+    @Test
+    public void testEncodeCalls() throws Throwable {
+        final Function f = Function.parse("batch(uint8,string,(bool,bytes)[])");
+        final List<Tuple> argsList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Tuple[] arr = new Tuple[i];
+            for (int j = 0; j < arr.length; j++) {
+                arr[j] = Tuple.of(j % 2 == 0, new byte[j * 17]);
+            }
+            argsList.add(Tuple.of(i, "call #" + i, arr));
+        }
+
+        final ByteBuffer[] calls = f.encodeCalls(argsList);
+        assertEquals(argsList.size(), calls.length);
+        for (int i = 0; i < calls.length; i++) {
+            assertEquals(f.encodeCall(argsList.get(i)), calls[i]);
+            assertEquals(argsList.get(i), f.decodeCall(calls[i].duplicate()));
+        }
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(8192);
+        direct.position(3);
+        final int[] bounds = f.encodeCalls(argsList, direct);
+        assertEquals(calls.length + 1, bounds.length);
+        assertEquals(3, bounds[0]);
+        assertEquals(bounds[calls.length], direct.position());
+        for (int i = 0; i < calls.length; i++) {
+            direct.limit(bounds[i + 1]);
+            direct.position(bounds[i]);
+            assertEquals(calls[i], direct);
+        }
+
+        final ByteBuffer tooSmall = ByteBuffer.allocate(bounds[calls.length] - 4);
+        TestUtils.assertThrown(BufferOverflowException.class, () -> f.encodeCalls(argsList, tooSmall));
+        assertEquals(0, tooSmall.position());
+
+        argsList.set(3, Tuple.of(256, "", new Tuple[0]));
+        TestUtils.assertThrown(IllegalArgumentException.class, "call index 3: tuple index 0: unsigned val exceeds bit limit: 9 > 8", () -> f.encodeCalls(argsList));
+    }
+
     @Test
     public void testFormatTupleType() {
         String f = Function.formatCall(new byte[] { 1, 1, 1, 1, 0x45, 0x13, 0x79, 0x03,
@@ -139,4 +185,27 @@ public class FunctionTest {
         System.out.println(f);
         assertEquals("ID       45137903\n0        2221201f2221201f2221201f2221201f2221201f2221201f2221201f2221201f", f);
     }
+
+    @Test
+    public void testFunctionCache() throws Throwable {
+        final FunctionCache cache = new FunctionCache(8);
+        final Function a = cache.parse("foo(uint)", "(bool)");
+        assertSame(a, cache.parse("foo(uint)", "(bool)"));
+        assertNotSame(a, cache.parse("foo(uint)"));
+        assertEquals(new Function("foo(uint)", "(bool)"), a);
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+
+        for (int i = 0; i < 16; i++) {
+            cache.parse("f" + i + "()");
+        }
+        assertTrue(cache.size() <= cache.maxSize());
+        assertEquals(18 - cache.size(), cache.evictionCount());
+        assertEquals(8, cache.maxSize());
+
+        TestUtils.assertThrown(IllegalArgumentException.class, "unrecognized type: \"uint7\"", () -> cache.parse("bar(uint7)"));
+        assertEquals(19, cache.missCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
 }
@@ -27,7 +27,9 @@ import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.esaulpaugh.headlong.TestUtils.assertThrown;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -385,4 +387,86 @@ public class TupleTest {
         TupleType inner = outer.get(0);
         assertEquals(TupleType.parse("(address,int)"), inner);
     }
+
+    @Test
+    public void testDecodeLazy() throws Throwable {
+        final Function f = new Function("view()", "(uint8,string,int64[],(bool,bytes),address,uint256)");
+        final Tuple values = Tuple.of(
+                7,
+                "lazy",
+                new long[] { -1L, 2L },
+                Tuple.of(true, new byte[] { 9, 8 }),
+                Address.wrap("0xa83114A443dA1CecEFC50368531cACE9F37fCCcb"),
+                BigInteger.TEN
+        );
+        final ByteBuffer bb = f.getOutputs().encode(values);
+        bb.position(0);
+        final Tuple lazy = f.decodeReturnLazy(bb);
+        assertEquals(0, bb.position());
+        assertEquals(6, lazy.size());
+        assertEquals("lazy", lazy.get(1));
+        final Tuple nested = lazy.get(3);
+        assertEquals(Tuple.of(true, new byte[] { 9, 8 }), nested);
+        assertTrue(nested == lazy.get(3)); // memoized
+        assertEquals(values, lazy);
+        assertEquals(values.hashCode(), lazy.hashCode());
+        assertEquals(values.toString(), lazy.toString());
+        assertEquals(bb, f.getOutputs().encode(lazy).position(0));
+
+        final byte[] corrupt = bb.array().clone();
+        corrupt[31] = 1; // uint8 at index 0 remains valid
+        corrupt[32 * 4] = 1; // address at index 4 exceeds 160 bits
+        final Tuple lazyCorrupt = f.decodeReturnLazy(ByteBuffer.wrap(corrupt));
+        assertEquals(1, (int) lazyCorrupt.get(0));
+        assertEquals(BigInteger.TEN, lazyCorrupt.get(5));
+        assertThrown(IllegalArgumentException.class, "unsigned val exceeds bit limit: 249 > 160", () -> lazyCorrupt.get(4));
+    }
+
+    @Test
+    public void testDecodeLazyConcurrently() throws Throwable {
+        final int n = 24;
+        final StringBuilder sb = new StringBuilder("(");
+        final Object[] elements = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sb.append(i % 2 == 0 ? "int64," : "string,");
+            elements[i] = i % 2 == 0 ? (Object) (long) i : "element " + i;
+        }
+        sb.setCharAt(sb.length() - 1, ')');
+        final TupleType tt = TupleType.parse(sb.toString());
+        final Tuple values = new Tuple(elements);
+        final byte[] encoding = tt.encode(values).array();
+
+        final int threads = 4;
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int iter = 0; iter < 200 && failure.get() == null; iter++) {
+            final Tuple lazy = tt.decodeLazy(ByteBuffer.wrap(encoding));
+            final CyclicBarrier barrier = new CyclicBarrier(threads);
+            final Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * (n / threads);
+                workers[t] = new Thread(() -> {
+                    try {
+                        barrier.await();
+                        for (int i = 0; i < n; i++) {
+                            final int idx = (offset + i) % n;
+                            final Object val = lazy.get(idx);
+                            if(!elements[idx].equals(val)) {
+                                throw new AssertionError("index " + idx + ": " + val);
+                            }
+                        }
+                        if(!values.equals(lazy)) {
+                            throw new AssertionError("not equal");
+                        }
+                    } catch (Throwable th) {
+                        failure.compareAndSet(null, th);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread w : workers) {
+                w.join();
+            }
+        }
+        assertNull(failure.get());
+    }
 }
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -304,6 +305,151 @@ public class RLPDecoderTest {
         list.elements(RLP_LENIENT);
     }
 
+    @Test
+    public void testByteBufferViews() throws Throwable {
+        final int shift = 5;
+        final ByteBuffer direct = ByteBuffer.allocateDirect(shift + LONG_LIST_BYTES.length + 3);
+        direct.position(shift);
+        direct.put(LONG_LIST_BYTES);
+        direct.position(shift);
+        final ByteBuffer readOnly = direct.asReadOnlyBuffer();
+        final RLPList view = RLP_STRICT.wrap(readOnly);
+        readOnly.limit(shift + 1); // views are unaffected
+        assertEquals(shift, readOnly.position());
+        assertEquals(shift, view.index);
+        assertSameItem(RLP_STRICT.wrapList(LONG_LIST_BYTES), view, shift);
+        assertSameItem(RLP_STRICT.wrapList(LONG_LIST_BYTES), view.duplicate(), 0);
+        final Iterator<RLPItem> iter = RLP_STRICT.listIterator(direct, shift);
+        assertEquals(view.iterator().next(), iter.next());
+
+        final String errPrefix = "deserialized integers with leading zeroes are invalid; index: ";
+        final ByteBuffer bb = ByteBuffer.allocateDirect(16);
+        bb.put(new byte[] { (byte) 0x84, 0, -128, 2, 1 }).flip();
+        assertThrown(IllegalArgumentException.class, errPrefix + "1, len: 4", RLP_STRICT.wrap(bb)::asInt);
+        assertThrown(IllegalArgumentException.class, "len is out of range: 4", () -> RLP_STRICT.wrap(bb).asShort(true));
+        assertEquals(8389121, RLP_STRICT.wrap(bb).asInt(true));
+        assertEquals(8389121L, RLP_STRICT.wrap(bb).asLong(true));
+        assertEquals(BigInteger.valueOf(8389121L), RLP_STRICT.wrap(bb).asBigInt(true));
+
+        bb.clear();
+        bb.put(new byte[] { (byte) 0xc8, (byte) 0x80, 0, (byte) 0x81, (byte) 0xAA, (byte) 0x81, (byte) '\u0080', (byte) 0x81, '\u007f', (byte) '\u230A' }).flip();
+        assertThrown(IllegalArgumentException.class, "invalid rlp for single byte @ 7", () -> RLP_STRICT.wrapList(bb, 0).elements(RLP_STRICT));
+        assertEquals(5, RLP_STRICT.wrapList(bb, 0).elements(RLP_LENIENT).size());
+        assertThrown(IllegalArgumentException.class, "item is not a string", () -> RLP_STRICT.wrapString(bb, 0));
+
+        bb.clear();
+        bb.put(new byte[] { (byte) 0xc1, (byte) 0x81 }).flip();
+        assertThrown(ShortInputException.class, "@ index 1", () -> RLP_LENIENT.wrapList(bb, 0).elements(RLP_LENIENT));
+        bb.limit(3);
+        assertThrown(IllegalArgumentException.class, "@ index 1", () -> RLP_LENIENT.wrapList(bb, 0).elements(RLP_LENIENT));
+    }
+
+    private static void assertSameItem(RLPItem expected, RLPItem actual, int shift) {
+        assertEquals(expected.index + shift, actual.index);
+        assertEquals(expected.dataIndex + shift, actual.dataIndex);
+        assertEquals(expected.endIndex + shift, actual.endIndex);
+        assertEquals(expected.type(), actual.type());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.encodingString(Strings.HEX), actual.encodingString(Strings.HEX));
+        assertArrayEquals(expected.data(), actual.data());
+        assertEquals(expected.asBoolean(), actual.asBoolean());
+        if(expected.isList()) {
+            final List<RLPItem> e = expected.asRLPList().elements(RLP_LENIENT);
+            final List<RLPItem> a = actual.asRLPList().elements(RLP_LENIENT);
+            assertEquals(e.size(), a.size());
+            for (int i = 0; i < e.size(); i++) {
+                assertSameItem(e.get(i), a.get(i), shift);
+            }
+        } else {
+            assertEquals(expected.asString(Strings.UTF_8), actual.asString(Strings.UTF_8));
+            final byte[] dest = new byte[expected.encodingLength() + 1];
+            assertEquals(dest.length, actual.export(dest, 1));
+            assertArrayEquals(expected.encoding(), Arrays.copyOfRange(dest, 1, dest.length));
+            if(expected.dataLength <= Long.BYTES) {
+                assertEquals(expected.asLong(true), actual.asLong(true));
+                assertEquals(expected.asBigInt(true), actual.asBigInt(true));
+                assertEquals(expected.asDouble(true), actual.asDouble(true));
+            }
+        }
+    }
+
+    @Test
+    public void testCursor() throws Throwable {
+        final RLPCursor cursor = RLP_STRICT.cursor(LONG_LIST_BYTES);
+        assertThrown(IllegalStateException.class, "no current item", cursor::type);
+        assertThrown(IllegalStateException.class, "not in a list", cursor::exitList);
+        assertTrue(cursor.next());
+        assertEquals(RLP_STRICT.wrap(LONG_LIST_BYTES), cursor.item());
+        assertCursorMatches(cursor, RLP_STRICT.wrapList(LONG_LIST_BYTES));
+        assertFalse(cursor.next());
+
+        cursor.reset(LONG_LIST_BYTES, 0).next();
+        for (int i = 0; i < 3; i++) {
+            cursor.enterList();
+            assertTrue(cursor.next());
+        }
+        assertTrue(cursor.next());
+        assertTrue(cursor.isString());
+        assertEquals(0L, cursor.asLong(true));
+        assertThrown(IllegalArgumentException.class, "leading zeroes", cursor::asLong);
+        assertThrown(IllegalStateException.class, "current item is not a list", cursor::enterList);
+        assertEquals(3, cursor.depth());
+        cursor.exitList(); // skips the remaining elements
+        assertThrown(IllegalStateException.class, "no current item", cursor::dataIndex);
+        assertFalse(cursor.next());
+        cursor.exitList();
+        assertTrue(cursor.next());
+        assertEquals(13, cursor.index());
+        assertEquals(56, cursor.dataLength());
+        cursor.exitList();
+        assertFalse(cursor.next());
+
+        final byte[] invalidAf = new byte[] { (byte) 0xc4, (byte) 0x80, 0, (byte) 0x81, '\u007f' };
+        final RLPCursor strict = RLP_STRICT.cursor(invalidAf);
+        strict.next();
+        strict.enterList();
+        strict.next();
+        strict.next();
+        assertThrown(IllegalArgumentException.class, "invalid rlp for single byte @ 3", strict::next);
+        final RLPCursor lenient = RLP_LENIENT.cursor(invalidAf);
+        lenient.next();
+        lenient.enterList();
+        lenient.next();
+        lenient.next();
+        assertTrue(lenient.next());
+        assertEquals(0x7f, lenient.asInt());
+
+        final RLPCursor exceeds = RLP_LENIENT.cursor(new byte[] { (byte) 0xc1, (byte) 0xc1, (byte) 0x00 });
+        exceeds.next();
+        exceeds.enterList();
+        assertThrown(IllegalArgumentException.class, "element @ index 1 exceeds its container: 3 > 2", exceeds::next);
+    }
+
+    private static void assertCursorMatches(RLPCursor cursor, RLPList list) {
+        cursor.enterList();
+        for (RLPItem e : list) {
+            assertTrue(cursor.next());
+            assertEquals(e.type(), cursor.type());
+            assertEquals(e.index, cursor.index());
+            assertEquals(e.dataIndex, cursor.dataIndex());
+            assertEquals(e.dataLength, cursor.dataLength());
+            assertEquals(e.endIndex, cursor.endIndex());
+            assertEquals(e.asBoolean(), cursor.asBoolean());
+            assertArrayEquals(e.data(), cursor.data());
+            if(e.isList()) {
+                assertCursorMatches(cursor, e.asRLPList());
+            } else {
+                assertEquals(e.asString(Strings.HEX), cursor.asString(Strings.HEX));
+            }
+        }
+        assertFalse(cursor.hasNext());
+        assertFalse(cursor.next());
+        cursor.exitList();
+    }
+
     @Test
     public void list() {
         RLPList rlpList = RLP_STRICT.wrapList(LONG_LIST_BYTES);
@@ -22,10 +22,13 @@ import com.esaulpaugh.headlong.util.Integers;
 import com.esaulpaugh.headlong.util.Strings;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -229,4 +232,94 @@ public class RLPEncoderTest {
         assertArrayEquals(new byte[] { 0, 0, (byte) 0x83, 0, 1, 2 }, dest);
         assertEquals(dest.length, idx);
     }
+
+    @Test
+    public void testTwoPassEncoder() throws Throwable {
+        final RLPTwoPassEncoder encoder = new RLPTwoPassEncoder();
+        final Random r = TestUtils.seededRandom();
+        for (int i = 0; i < 200; i++) {
+            final List<Object> elements = randomList(r, 4);
+            final byte[] expected = RLPEncoder.encodeAsList(elements);
+            assertArrayEquals(expected, encoder.encodeAsList(elements));
+
+            final byte[] dest = new byte[expected.length + 3];
+            assertEquals(dest.length, encoder.encodeAsList(elements, dest, 3));
+            assertArrayEquals(expected, Arrays.copyOfRange(dest, 3, dest.length));
+
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            assertEquals(expected.length, encoder.encodeAsList(elements, Channels.newChannel(baos)));
+            assertArrayEquals(expected, baos.toByteArray());
+        }
+
+        final byte[] big = new byte[20_000];
+        r.nextBytes(big);
+        final List<Object> elements = Arrays.asList(new byte[8190], big, new Object[] { new byte[] { 0x7f }, big }, new byte[0]);
+        final byte[] expected = RLPEncoder.encodeAsList(elements);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertEquals(expected.length, encoder.encodeAsList(elements, Channels.newChannel(baos)));
+        assertArrayEquals(expected, baos.toByteArray());
+
+        final ByteBuffer bb = ByteBuffer.allocate(expected.length + 1);
+        bb.put((byte) 0);
+        encoder.encodeAsList(elements, bb);
+        assertEquals(bb.capacity(), bb.position());
+        assertArrayEquals(expected, Arrays.copyOfRange(bb.array(), 1, bb.capacity()));
+
+        TestUtils.assertThrown(NullPointerException.class, () -> encoder.encodeAsList(Arrays.asList(new byte[0], null)));
+        TestUtils.assertThrown(IllegalArgumentException.class, "unsupported object type: java.lang.String", () -> encoder.encodeAsList(Arrays.asList(new ArrayList<>(), "00")));
+    }
+
+    @Test
+    public void testWriter() throws Throwable {
+        final RLPWriter writer = new RLPWriter(0);
+        final Random r = TestUtils.seededRandom();
+        for (int i = 0; i < 200; i++) {
+            final List<Object> elements = randomList(r, 4);
+            writer.reset().beginList();
+            addReversed(writer, elements);
+            assertArrayEquals(RLPEncoder.encodeAsList(elements), writer.endList().toByteArray());
+        }
+        final long[] longs = new long[] { 0L, 1L, 0x7fL, 0x80L, 0xffL, 0x100L, Long.MAX_VALUE, -1L, Long.MIN_VALUE, r.nextLong() };
+        for (long val : longs) {
+            assertArrayEquals(RLPEncoder.encodeString(Integers.toBytes(val)), writer.reset().addLong(val).toByteArray());
+        }
+        final byte[] big = new byte[1000];
+        writer.reset().beginList().addString(big).beginList().endList().addLong(1L).endList().addString(new byte[] { 0x7f });
+        final byte[] expected = RLPEncoder.encodeSequentially(new byte[] { 0x7f }, new Object[] { Integers.toBytes(1L), new Object[0], big });
+        assertArrayEquals(expected, writer.toByteArray());
+        final byte[] dest = new byte[expected.length + 1];
+        assertEquals(dest.length, writer.export(dest, 1));
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, dest.length));
+
+        TestUtils.assertThrown(IllegalStateException.class, "not in a list", () -> new RLPWriter().endList());
+        TestUtils.assertThrown(IllegalStateException.class, "unclosed lists: 2", () -> new RLPWriter().beginList().beginList().endList().beginList().toByteArray());
+    }
+
+    private static void addReversed(RLPWriter writer, List<?> elements) {
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            final Object e = elements.get(i);
+            if(e instanceof byte[]) {
+                writer.addString((byte[]) e);
+            } else {
+                writer.beginList();
+                addReversed(writer, e instanceof Object[] ? Arrays.asList((Object[]) e) : (List<?>) e);
+                writer.endList();
+            }
+        }
+    }
+
+    private static List<Object> randomList(Random r, int depth) {
+        final int n = r.nextInt(6);
+        final List<Object> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if(depth > 0 && r.nextInt(3) == 0) {
+                list.add(r.nextBoolean() ? randomList(r, depth - 1) : randomList(r, depth - 1).toArray());
+            } else {
+                final byte[] bytes = new byte[r.nextInt(4) == 0 ? r.nextInt(300) : r.nextInt(3)];
+                r.nextBytes(bytes);
+                list.add(bytes);
+            }
+        }
+        return list;
+    }
 }
@@ -28,6 +28,14 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,6 +43,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
 import java.util.stream.Collectors;
@@ -46,6 +56,7 @@ import static com.esaulpaugh.headlong.util.Strings.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RLPStreamTest {
@@ -93,8 +104,90 @@ public class RLPStreamTest {
 			assertEquals("ce880573490923738490c0c3827761", baos.toString());
 			assertEquals("ce880573490923738490c0c3827761", ros.toString());
 		}
+		final int[] writes = new int[1];
+		final Baos counting = new Baos() {
+			@Override
+			public synchronized void write(byte[] b, int off, int len) {
+				writes[0]++;
+				super.write(b, off, len);
+			}
+		};
+		try (RLPOutputStream ros = new RLPOutputStream(counting)) {
+			ros.write(new byte[] { 0x01, 0x02, 0x03 });
+			ros.write(new byte[100], 0, 60);
+			assertEquals(2, writes[0]); // one write per item
+			assertEquals(4 + 2 + 60, counting.size());
+		}
 	}
 
+    @Test
+    public void testBufferedRLPOutputStream() throws Throwable {
+        final byte[] big = new byte[100];
+        Arrays.fill(big, (byte) 0x55);
+        final Object[] expected = new Object[] {
+                new byte[] { (byte) 0x80 },
+                new Object[] { new byte[] { 0x01, 0x02 }, new Object[] { new byte[0] }, big },
+                new byte[] { 0x7f },
+                new Object[] { },
+                big
+        };
+        final byte[] expectedBytes = RLPEncoder.encodeSequentially(expected);
+
+        TestUtils.assertThrown(IllegalArgumentException.class, "bufferSize must be at least 9: 8", () -> new RLPOutputStream(new Baos(), 8));
+        try (Baos baos = new Baos(); RLPOutputStream ros = new RLPOutputStream(baos, 16)) {
+            ros.write(0x80);
+            ros.beginList(3 + 2 + 2 + big.length);
+            ros.write(new byte[] { 0x00, 0x01, 0x02, 0x03 }, 1, 2);
+            ros.beginList(1);
+            ros.write(new byte[0]);
+            ros.endList();
+            ros.write(big);
+            assertEquals(1, ros.depth());
+            ros.endList();
+            ros.write(new byte[] { 0x7f });
+            ros.writeList();
+            assertTrue(baos.size() < expectedBytes.length - big.length - 2);
+            ros.write(big);
+            ros.flush();
+            assertArrayEquals(expectedBytes, baos.toByteArray());
+
+            ros.beginList(1);
+            TestUtils.assertThrown(IllegalStateException.class, "list length mismatch: declared 1, written 2", () -> { ros.write(0x00); ros.write(0x00); ros.endList(); });
+            TestUtils.assertThrown(IllegalStateException.class, "not in a list", ros::endList);
+            TestUtils.assertThrown(UnsupportedOperationException.class, "list of unknown length requires a FileChannel", ros::beginList);
+        }
+
+        final Path path = Files.createTempFile("export", ".rlp");
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] { 0x01, 0x02, 0x03 }));
+            for (int bufferSize : new int[] { 9, 32, 1024 }) {
+                ch.truncate(3L);
+                ch.position(3L);
+                try (RLPOutputStream ros = new RLPOutputStream(ch, bufferSize)) {
+                    ros.write(0x80);
+                    ros.beginList();
+                    ros.write(new byte[] { 0x01, 0x02 });
+                    ros.beginList();
+                    ros.write(new byte[0]);
+                    ros.endList();
+                    ros.write(big);
+                    ros.endList();
+                    ros.write(0x7f);
+                    ros.beginList();
+                    ros.endList();
+                    ros.write(big);
+                }
+                assertEquals(3L + expectedBytes.length, ch.size());
+                assertEquals(ch.size(), ch.position());
+                final ByteBuffer written = ByteBuffer.allocate(expectedBytes.length);
+                ch.read(written, 3L);
+                assertArrayEquals(expectedBytes, written.array());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
     @Test
     public void testObjectRLPStream() throws IOException {
 
@@ -182,6 +275,206 @@ public class RLPStreamTest {
         }
     }
 
+    @Test
+    public void testMappedSequenceReader() throws Throwable {
+        final byte[] big = new byte[300];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = (byte) i;
+        }
+        final byte[] bigEncoding = RLPEncoder.encodeString(big);
+        final byte[] all = new byte[RLP_BYTES.length * 2 + bigEncoding.length];
+        System.arraycopy(RLP_BYTES, 0, all, 0, RLP_BYTES.length);
+        System.arraycopy(bigEncoding, 0, all, RLP_BYTES.length, bigEncoding.length);
+        System.arraycopy(RLP_BYTES, 0, all, RLP_BYTES.length + bigEncoding.length, RLP_BYTES.length);
+
+        final Path path = Files.createTempFile("sequence", ".rlp");
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(all, 0, all.length - 3)); // the final item is incomplete
+
+            final MappedRLPSequenceReader reader = RLP_STRICT.sequenceReader(ch, 0L, 64);
+            TestUtils.assertThrown(IllegalStateException.class, "no current item", reader::offset);
+            final Iterator<RLPItem> expected = RLP_STRICT.sequenceIterator(all);
+            int mapped = 0;
+            while (reader.next()) {
+                final RLPItem item = expected.next();
+                assertEquals(item.index, reader.offset());
+                assertEquals(item.dataIndex, reader.dataOffset());
+                assertEquals(item.endIndex, reader.position());
+                assertEquals(item.type(), reader.type());
+                if(reader.isMapped()) {
+                    final ByteBuffer encoding = reader.encoding();
+                    assertTrue(encoding.isReadOnly());
+                    final byte[] arr = new byte[encoding.remaining()];
+                    encoding.get(arr);
+                    assertArrayEquals(item.encoding(), arr);
+                    assertEquals(item.dataLength, reader.data().remaining());
+                    assertEquals(item, reader.item());
+                    mapped++;
+                } else {
+                    assertEquals(bigEncoding.length, reader.encodingLength());
+                    TestUtils.assertThrown(IllegalStateException.class, "item exceeds window: 303 > 64", reader::data);
+                    TestUtils.assertThrown(IllegalStateException.class, "item exceeds window: 303 > 64", reader::item);
+                    final ByteBuffer dst = ByteBuffer.allocate(big.length + 10);
+                    dst.position(10);
+                    assertEquals(big.length - 100, reader.readData(100, dst));
+                    assertEquals(-1, reader.readData(big.length, dst));
+                    final Baos baos = new Baos();
+                    assertEquals(big.length, reader.transferData(Channels.newChannel(baos)));
+                    assertArrayEquals(big, baos.toByteArray());
+                }
+            }
+            assertEquals(2 * 6 - 1, mapped);
+            final long resume = reader.position();
+            assertEquals(all.length - 11, resume);
+
+            ch.write(ByteBuffer.wrap(all, all.length - 3, 3), all.length - 3);
+            final MappedRLPSequenceReader resumed = RLP_STRICT.sequenceReader(ch, resume, 64);
+            assertTrue(resumed.next());
+            assertEquals(resume, resumed.offset());
+            assertEquals(all.length, resumed.position());
+            assertFalse(resumed.next());
+
+            ch.write(ByteBuffer.wrap(new byte[] { (byte) 0x81, 0x00 }), all.length);
+            TestUtils.assertThrown(IllegalArgumentException.class, "invalid rlp for single byte @ " + all.length, resumed::next);
+            assertTrue(RLPDecoder.RLP_LENIENT.sequenceReader(ch, all.length, 64).next());
+
+            final MappedRLPSequenceReader lenient = RLPDecoder.RLP_LENIENT.sequenceReader(ch, all.length, 64);
+            assertTrue(lenient.next());
+            TestUtils.assertThrown(IOException.class, "transfer stalled after 0 of 1 bytes @ " + (all.length + 1), () -> lenient.transferData(new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer src) {
+                    return 0;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            }));
+
+            final long truncated = all.length + 2;
+            ch.write(ByteBuffer.wrap(new byte[] { (byte) 0x83, 0x01 }), truncated);
+            assertFalse(RLP_STRICT.sequenceReader(ch, truncated, 64).next());
+            TestUtils.assertThrown(ShortInputException.class, "element @ " + truncated + " exceeds file size " + (truncated + 2), RLP_STRICT.sequenceReader(ch, truncated, 64).complete()::next);
+
+            final long huge = truncated + 2;
+            ch.write(ByteBuffer.wrap(new byte[] { (byte) 0xbf, 0x7f, -1, -1, -1, -1, -1, -1, -1 }), huge);
+            TestUtils.assertThrown(IllegalArgumentException.class, "element @ " + huge + " declares data length " + Long.MAX_VALUE + " which exceeds the maximum file size", RLP_STRICT.sequenceReader(ch, huge, 64)::next);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStreamDecoder() throws Throwable {
+        final byte[] bigEncoding = RLPEncoder.encodeString(new byte[300]);
+        final byte[] all = new byte[RLP_BYTES.length * 2 + bigEncoding.length];
+        System.arraycopy(RLP_BYTES, 0, all, 0, RLP_BYTES.length);
+        System.arraycopy(bigEncoding, 0, all, RLP_BYTES.length, bigEncoding.length);
+        System.arraycopy(RLP_BYTES, 0, all, RLP_BYTES.length + bigEncoding.length, RLP_BYTES.length);
+        final List<RLPItem> expected = RLP_STRICT.stream(all).collect(Collectors.toList());
+
+        for (int chunkLen : new int[] { 1, 7, 64, all.length }) {
+            final RLPStreamDecoder decoder = RLP_STRICT.streamDecoder(0, 512);
+            final List<RLPItem> items = new ArrayList<>();
+            for (int i = 0; i < all.length; i += chunkLen) {
+                final ByteBuffer chunk = ByteBuffer.wrap(all, i, Math.min(chunkLen, all.length - i));
+                while (chunk.hasRemaining()) {
+                    decoder.feed(chunk);
+                    RLPItem item;
+                    while ((item = decoder.poll()) != null) {
+                        items.add(item);
+                    }
+                }
+            }
+            assertEquals(expected, items);
+            assertEquals(0, decoder.buffered());
+            assertEquals(all.length, decoder.position());
+        }
+
+        final RLPStreamDecoder decoder = RLP_STRICT.streamDecoder(16, 512);
+        final List<RLPItem> items = new ArrayList<>();
+        final ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(all));
+        while (decoder.read(channel) >= 0) {
+            RLPItem item;
+            while ((item = decoder.poll()) != null) {
+                items.add(item);
+            }
+        }
+        assertEquals(expected, items);
+
+        final RLPStreamDecoder partial = RLP_STRICT.streamDecoder(16, 512);
+        assertEquals(-1L, partial.pendingItemLength());
+        partial.feed(ByteBuffer.wrap(bigEncoding, 0, 2));
+        assertEquals(-1L, partial.pendingItemLength());
+        assertEquals(1L, partial.bytesNeeded());
+        partial.feed(ByteBuffer.wrap(bigEncoding, 2, 14));
+        assertEquals(303L, partial.pendingItemLength());
+        assertEquals(287L, partial.bytesNeeded());
+        assertNull(partial.poll());
+        assertEquals(bigEncoding.length - 16, partial.feed(ByteBuffer.wrap(bigEncoding, 16, bigEncoding.length - 16))); // grows
+        assertEquals(0L, partial.bytesNeeded());
+        assertEquals(RLP_STRICT.wrap(bigEncoding), partial.poll());
+
+        final RLPStreamDecoder full = RLP_STRICT.streamDecoder(16, 512);
+        final ByteBuffer src = ByteBuffer.wrap(RLP_BYTES);
+        assertEquals(16, full.feed(src));
+        assertEquals(0, full.feed(src)); // the first item is complete, so the buffer does not grow
+        assertEquals(expected.get(0), full.poll());
+        assertEquals(11, full.feed(src));
+
+        final RLPStreamDecoder small = RLP_STRICT.streamDecoder(16, 300);
+        small.feed(ByteBuffer.wrap(bigEncoding));
+        TestUtils.assertThrown(IllegalArgumentException.class, "item @ 0 exceeds max item size 300: data length 300", small::poll);
+
+        final RLPStreamDecoder strict = RLP_STRICT.streamDecoder(16, 300);
+        strict.feed(ByteBuffer.wrap(new byte[] { (byte) 0x81, 0x00 }));
+        TestUtils.assertThrown(IllegalArgumentException.class, "invalid rlp for single byte @ 0", strict::poll);
+    }
+
+    @Test
+    public void testParallelStream() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Object[] objects = new Object[2000];
+        for (int i = 0; i < objects.length; i++) {
+            final byte[] b = new byte[r.nextInt(i % 10 == 0 ? 300 : 40)];
+            r.nextBytes(b);
+            objects[i] = i % 3 == 0 ? new Object[] { b, new byte[] { (byte) i } } : b;
+        }
+        final byte[] sequence = RLPEncoder.encodeSequentially(objects);
+        final List<RLPItem> expected = new ArrayList<>();
+        RLP_STRICT.sequenceIterator(sequence).forEachRemaining(expected::add);
+        assertEquals(objects.length, expected.size());
+
+        assertEquals(expected, RLP_STRICT.stream(sequence).parallel().collect(Collectors.toList()));
+        assertEquals(expected, RLP_STRICT.stream(sequence).collect(Collectors.toList()));
+
+        final Spliterator<RLPItem> spliterator = RLP_STRICT.spliterator(sequence, 0);
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        final Spliterator<RLPItem> prefix = spliterator.trySplit();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(objects.length, prefix.estimateSize() + spliterator.estimateSize());
+        final int[] bytes = new int[2];
+        prefix.forEachRemaining(item -> bytes[0] += item.encodingLength());
+        spliterator.forEachRemaining(item -> bytes[1] += item.encodingLength());
+        assertEquals(sequence.length, bytes[0] + bytes[1]);
+        assertTrue(Math.abs(bytes[0] - bytes[1]) < 1000);
+
+        final byte[] invalid = Arrays.copyOf(sequence, sequence.length + 2);
+        invalid[sequence.length] = (byte) 0x81;
+        TestUtils.assertThrown(IllegalArgumentException.class, "invalid rlp for single byte @ " + sequence.length,
+                () -> RLP_STRICT.stream(invalid).parallel().count());
+        final byte[] truncated = Arrays.copyOf(sequence, sequence.length - 1);
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds its container",
+                () -> RLP_STRICT.stream(truncated).parallel().forEach(item -> {}));
+        assertEquals(1, RLP_STRICT.stream(new byte[] { 0x01 }).parallel().count());
+        assertEquals(0, RLP_STRICT.stream(new byte[0]).parallel().count());
+    }
+
     @Test
     public void testInterfaces() {
         try (Stream<RLPItem> stream = RLP_STRICT.stream(new ByteArrayInputStream(new byte[0]))) {
@@ -22,7 +22,9 @@ import com.esaulpaugh.headlong.util.Strings;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.security.DigestException;
 import java.security.MessageDigest;
 import java.util.Arrays;
@@ -199,6 +201,87 @@ public class KeccakTest {
         }
     }
 
+    @Test
+    public void testKeccak256() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        final byte[] in = TestUtils.randomBytes(3 + 500, r);
+        final byte[] out = new byte[2 + Keccak256.DIGEST_LEN];
+        for (int len = 0; len <= 500; len++) {
+            k.update(in, 3, len);
+            final byte[] expected = k.digest();
+
+            Keccak256.hash(in, 3, len, out, 2);
+            assertArrayEquals(expected, Arrays.copyOfRange(out, 2, out.length));
+
+            final ByteBuffer src = (len & 1) == 0 ? ByteBuffer.wrap(in, 3, len) : ByteBuffer.allocateDirect(len).put(in, 3, len);
+            src.position(src.position() - ((len & 1) == 0 ? 0 : len));
+            src.order((len & 2) == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            final ByteBuffer dest = ByteBuffer.allocate(1 + Keccak256.DIGEST_LEN).order(src.order());
+            dest.put((byte) 0);
+            Keccak256.hash(src, dest);
+            assertEquals(src.limit(), src.position());
+            assertEquals(dest.capacity(), dest.position());
+            assertArrayEquals(expected, Arrays.copyOfRange(dest.array(), 1, dest.capacity()));
+        }
+        final byte[] selector = new byte[SELECTOR_LEN];
+        Keccak256.hash(in, 0, 10, selector, 0, SELECTOR_LEN);
+        assertArrayEquals(Arrays.copyOf(k.digest(Arrays.copyOf(in, 10)), SELECTOR_LEN), selector);
+
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, () -> Keccak256.hash(in, 4, in.length - 3, out, 0));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, () -> Keccak256.hash(in, 0, 1, out, 3));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, () -> Keccak256.hash(in, 0, 1, out, 0, 33));
+        TestUtils.assertThrown(BufferOverflowException.class, () -> Keccak256.hash(ByteBuffer.wrap(in), ByteBuffer.allocate(31)));
+    }
+
+    @Test
+    public void testBatch() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        for (int width : new int[] { 1, 3, 8 }) {
+            final Keccak256Batch batch = new Keccak256Batch(width);
+            final byte[][] messages = new byte[Keccak256Batch.MAX_MESSAGE_LEN + 1][];
+            for (int len = 0; len < messages.length; len++) {
+                messages[len] = TestUtils.randomBytes(len, r);
+            }
+            final byte[] out = new byte[1 + messages.length * Keccak256Batch.DIGEST_LEN];
+            batch.hash(messages, out, 1);
+            for (int i = 0; i < messages.length; i++) {
+                assertArrayEquals(k.digest(messages[i]), Arrays.copyOfRange(out, 1 + i * 32, 1 + (i + 1) * 32));
+            }
+
+            final int len = 40;
+            final int count = 2 * width + 1;
+            final byte[] in = TestUtils.randomBytes(3 + len * count, r);
+            batch.hash(in, 3, len, count, out, 0);
+            for (int i = 0; i < count; i++) {
+                k.update(in, 3 + i * len, len);
+                assertArrayEquals(k.digest(), Arrays.copyOfRange(out, i * 32, (i + 1) * 32));
+            }
+        }
+        final Keccak256Batch batch = new Keccak256Batch(4);
+        assertEquals("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470", hashOne(batch, new byte[0]));
+        TestUtils.assertThrown(IllegalArgumentException.class, "message length exceeds 135: 136",
+                () -> batch.hash(new byte[][] { new byte[136] }, new byte[32], 0));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "output range [0, 0 + 64) out of bounds for length 63",
+                () -> batch.hash(new byte[][] { new byte[1], new byte[2] }, new byte[63], 0));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "input range [0, 0 + 80) out of bounds for length 79",
+                () -> batch.hash(new byte[79], 0, 40, 2, new byte[64], 0));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "output range [-1, -1 + 32) out of bounds for length 32",
+                () -> batch.hash(new byte[1], 0, 1, 1, new byte[32], -1));
+        TestUtils.assertThrown(IllegalArgumentException.class, "negative count: -1",
+                () -> batch.hash(new byte[1], 0, 1, -1, new byte[32], 0));
+        TestUtils.assertThrown(IllegalArgumentException.class, "negative message length: -1",
+                () -> batch.hash(new byte[8], 0, -1, 1, new byte[32], 0));
+        TestUtils.assertThrown(IllegalArgumentException.class, "width must be positive", () -> new Keccak256Batch(0));
+    }
+
+    private static String hashOne(Keccak256Batch batch, byte[] message) {
+        final byte[] out = new byte[Keccak256Batch.DIGEST_LEN];
+        batch.hash(new byte[][] { message }, out, 0);
+        return Strings.encode(out);
+    }
+
     @Disabled("slow")
     @Test
     public void benchmark() {